@@ -1,10 +1,13 @@
 package com.eventspipe;
 
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.collections.IteratorUtils;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
 
@@ -24,27 +27,10 @@ public class BinaryTimeExpression extends TimeExpression {
   public BinaryTimeExpression(
       TimeExpression aTimeExpression,
       TimeExpression anotherTimeExpression) {
-//    assertNoConflictsBetweenAnd(
-//        aTimeExpression,
-//        anotherTimeExpression);
     this.leftExpression = aTimeExpression;
     this.rightExpression = anotherTimeExpression;
   }
 
-  private void assertNoConflictsBetweenAnd(
-      TimeExpression aTimeExpression,
-      TimeExpression anotherTimeExpression) {
-    Iterator<DateTimeSpan> anotherTimeExpressionIterator =
-        anotherTimeExpression.iterator();
-    while (anotherTimeExpressionIterator.hasNext()) {
-      DateTimeSpan anotherTimeExpressionOcurrence =
-          anotherTimeExpressionIterator.next();
-      if (aTimeExpression.conflictsWith(anotherTimeExpressionOcurrence)) {
-        throw new TimeExpressionException(DATE_TIME_CONFLICT);
-      }
-    }
-  }
-
   @Override
   public boolean evaluate(LocalDateTime aDateTime) {
     boolean result = false;
@@ -55,10 +41,37 @@ public class BinaryTimeExpression extends TimeExpression {
 
   @Override
   public boolean evaluate(LocalDate aDate) {
-    boolean result = false;
-    result |= this.leftExpression.evaluate(aDate);
-    result |= this.rightExpression.evaluate(aDate);
-    return result;
+    return occursOn(aDate);
+  }
+
+  @Override
+  protected BitSet computeOccurringDaysOf(int aYear) {
+    return occurringDaysOf(Arrays.asList(leftExpression, rightExpression), aYear);
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.covers(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay);
+    }
+    return this.leftExpression.evaluate(anEpochDay) || 
+        this.rightExpression.evaluate(anEpochDay);
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.coversTimesOn(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay, aMillisOfDay);
+    }
+    return this.leftExpression.evaluate(anEpochDay, aMillisOfDay) || 
+        this.rightExpression.evaluate(anEpochDay, aMillisOfDay);
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    return evaluateAll(leafExpressions(), theEpochMillis);
   }
 
   @Override
@@ -71,22 +84,100 @@ public class BinaryTimeExpression extends TimeExpression {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
+  protected List<TimeExpression> childExpressions() {
+    return Arrays.asList(leftExpression, rightExpression);
+  }
+
+  @Override
+  protected List<TimeExpression> leafExpressions() {
+    List<TimeExpression> leafExpressions = new ArrayList<>();
+    leafExpressions.addAll(this.leftExpression.leafExpressions());
+    leafExpressions.addAll(this.rightExpression.leafExpressions());
+    return leafExpressions;
+  }
+
+  @Override
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDateTime.toLocalDate()))) {
+      DateTimeSpan anOccurrence = aSchedule.nextOccurrenceAfter(aDateTime);
+      if (anOccurrence != null) {
+        return anOccurrence;
+      }
+    }
+    return earliestOccurrenceAfter(leafExpressions(), aDateTime);
+  }
+
+  @Override
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    return latestOccurrenceBefore(leafExpressions(), aDateTime);
+  }
+
+  @Override
   public Iterator<DateTimeSpan> iterator() {
-    return IteratorUtils.collatedIterator(
-        new DateTimeSpanComparator(),
-        this.leftExpression.iterator(),
-        this.rightExpression.iterator());
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.iterator());
+    }
+    return new BinaryTimeExpressionIterator(iterators);
   }
-  
-  @SuppressWarnings("unchecked")
+
   @Override
   public Iterator<DateTimeSpan> iteratorFromTo(
       LocalDate aDate, LocalDate anotherDate) {
-    return IteratorUtils.collatedIterator(
-        new DateTimeSpanComparator(),
-        this.leftExpression.iteratorFromTo(aDate, anotherDate),
-        this.rightExpression.iteratorFromTo(aDate, anotherDate));
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.iteratorFromTo(aDate, anotherDate));
+    }
+    return new BinaryTimeExpressionIterator(iterators);
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.descendingIteratorFromTo(aDate, anotherDate));
+    }
+    return new BinaryTimeExpressionIterator(
+        iterators, new DateTimeSpanComparator().reversed());
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursor());
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDate)) && 
+        aSchedule.covers(EpochDay.of(anotherDate))) {
+      return aSchedule.cursorFromTo(
+          EpochDay.of(aDate), EpochDay.of(anotherDate));
+    }
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursorFromTo(aDate, anotherDate));
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursorBetween(aDateTime, anotherDateTime));
+    }
+    return new MergedOccurrenceCursor(cursors);
   }
 
   public TimeExpression leftExpression() {
@@ -112,26 +203,25 @@ public class BinaryTimeExpression extends TimeExpression {
 
   @Override
   public int numberOfOcurringDays() {
-    int numberOfOccurreneces = 0;
-    numberOfOccurreneces = 
-        numberOfOccurreneces + 
-        leftExpression.numberOfOcurringDays();
-    numberOfOccurreneces = 
-        numberOfOccurreneces + 
-        rightExpression.numberOfOcurringDays();
-    return numberOfOccurreneces;
+    return sumOf(
+        leftExpression.numberOfOcurringDays(),
+        rightExpression.numberOfOcurringDays());
   }
   
   @Override
   public int numberOfOccurrences() {
-    int numberOfOccurreneces = 0;
-    numberOfOccurreneces = 
-        numberOfOccurreneces + 
-        leftExpression.numberOfOccurrences();
-    numberOfOccurreneces = 
-        numberOfOccurreneces + 
-        rightExpression.numberOfOccurrences();
-    return numberOfOccurreneces;
+    return sumOf(
+        leftExpression.numberOfOccurrences(),
+        rightExpression.numberOfOccurrences());
+  }
+
+  @Override
+  public long countBetween(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    return 
+        leftExpression.countBetween(aDateTime, anotherDateTime) + 
+        rightExpression.countBetween(aDateTime, anotherDateTime);
   }
   
   @Override
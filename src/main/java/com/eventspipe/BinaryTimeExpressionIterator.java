@@ -1,45 +1,74 @@
 package com.eventspipe;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
-public class BinaryTimeExpressionIterator implements Iterator<DateTimeSpan> {
+/*
+ * Merges any number of iterators ordered by the same comparator into one
+ * ordered iterator through a binary heap of their heads, so each
+ * occurrence costs O(log k) comparisons regardless of how the
+ * expressions were combined.
+ */
+public class BinaryTimeExpressionIterator extends MergeHeap
+    implements Iterator<DateTimeSpan> {
 
-  private Iterator<DateTimeSpan>[] iterators;
+  private List<Iterator<DateTimeSpan>> iterators;
 
-  private int currentIndex;
+  private DateTimeSpan[] heads;
 
-  public BinaryTimeExpressionIterator(List<TimeExpression> timeExpressions) {
-    initialize(timeExpressions);
+  private Comparator<DateTimeSpan> comparator;
+
+  public BinaryTimeExpressionIterator(
+      List<Iterator<DateTimeSpan>> theIterators) {
+    this(theIterators, new DateTimeSpanComparator());
   }
 
-  @SuppressWarnings("unchecked")
-  private void initialize(List<TimeExpression> timeExpressions) {
-    this.iterators = new Iterator[timeExpressions.size()];
-    for (int anIndex = 0; anIndex < timeExpressions.size(); anIndex++) {
-      iterators[anIndex] = timeExpressions.get(anIndex).iterator();
+  public BinaryTimeExpressionIterator(
+      List<Iterator<DateTimeSpan>> theIterators,
+      Comparator<DateTimeSpan> aComparator) {
+    super(theIterators.size());
+    this.iterators = new ArrayList<>(theIterators);
+    this.heads = new DateTimeSpan[iterators.size()];
+    this.comparator = aComparator;
+    for (int anIndex = 0; anIndex < iterators.size(); anIndex++) {
+      if (iterators.get(anIndex).hasNext()) {
+        heads[anIndex] = iterators.get(anIndex).next();
+        add(anIndex);
+      }
     }
-    this.currentIndex = 0;
+    heapify();
   }
 
   @Override
   public boolean hasNext() {
-    return this.iterators[currentIndex].hasNext();
+    return !isEmpty();
   }
 
   @Override
   public DateTimeSpan next() {
-    DateTimeSpan aLocalDate = this.iterators[currentIndex].next();
-    if (currentIndex == (iterators.length - 1)) {
-      this.currentIndex = 0;
-    } else {
-      this.currentIndex++;
+    if (isEmpty()) {
+      throw new NoSuchElementException();
     }
-    return aLocalDate;
+    int anIteratorIndex = firstSource();
+    DateTimeSpan aDateTimeSpan = heads[anIteratorIndex];
+    boolean hasNext = iterators.get(anIteratorIndex).hasNext();
+    heads[anIteratorIndex] =
+        hasNext ? iterators.get(anIteratorIndex).next() : null;
+    firstSourceMoved(hasNext);
+    return aDateTimeSpan;
+  }
+
+  @Override
+  protected int compareHeads(int anIteratorIndex, int anotherIteratorIndex) {
+    return comparator.compare(
+        heads[anIteratorIndex], heads[anotherIteratorIndex]);
   }
 
   @Override
   public void remove() {
-    throw new UnsupportedOperationException("not implemented");
+    throw new UnsupportedOperationException();
   }
 }
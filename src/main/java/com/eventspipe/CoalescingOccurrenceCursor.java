@@ -0,0 +1,49 @@
+package com.eventspipe;
+
+/*
+ * Merges the overlapping or adjacent occurrences of a cursor ordered by
+ * start into the spans of time they keep busy, looking one occurrence
+ * ahead and nothing more.
+ */
+public class CoalescingOccurrenceCursor implements OccurrenceCursor {
+
+  private OccurrenceCursor cursor;
+  private boolean started;
+  private boolean pending;
+  private long startEpochMillis;
+  private long endEpochMillis;
+
+  public CoalescingOccurrenceCursor(OccurrenceCursor aCursor) {
+    cursor = aCursor;
+    started = false;
+    pending = false;
+  }
+
+  @Override
+  public boolean advance() {
+    if (!started) {
+      started = true;
+      pending = cursor.advance();
+    }
+    if (!pending) {
+      return false;
+    }
+    startEpochMillis = cursor.startEpochMillis();
+    endEpochMillis = cursor.endEpochMillis();
+    while ((pending = cursor.advance()) &&
+        cursor.startEpochMillis() <= endEpochMillis) {
+      endEpochMillis = Math.max(endEpochMillis, cursor.endEpochMillis());
+    }
+    return true;
+  }
+
+  @Override
+  public long startEpochMillis() {
+    return startEpochMillis;
+  }
+
+  @Override
+  public long endEpochMillis() {
+    return endEpochMillis;
+  }
+}
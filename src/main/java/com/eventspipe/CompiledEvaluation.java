@@ -0,0 +1,10 @@
+package com.eventspipe;
+
+/*
+ * Implemented by the classes spun for compiled expressions, each holding
+ * its method handle as a constant.
+ */
+public interface CompiledEvaluation {
+
+  boolean evaluate(long anEpochDay, int aMillisOfDay);
+}
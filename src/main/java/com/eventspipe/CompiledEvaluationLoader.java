@@ -0,0 +1,198 @@
+package com.eventspipe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+
+/*
+ * Defines one class per compiled expression, which reads the method handle
+ * from its own loader into a static final field when initialized. The JIT
+ * trusts static finals as constants, so the whole composed handle inlines
+ * into evaluate, which a handle held in an instance field never does. The
+ * class and its handle are collected along with the loader.
+ */
+public class CompiledEvaluationLoader extends ClassLoader {
+
+  private static final String CLASS_NAME =
+      "com/eventspipe/ConstantCompiledEvaluation";
+
+  private static final String HANDLE_DESCRIPTOR =
+      "Ljava/lang/invoke/MethodHandle;";
+
+  private static final String EVALUATE_DESCRIPTOR = "(JI)Z";
+
+  private static final int ACC_PUBLIC = 0x0001;
+
+  private static final int ACC_PRIVATE = 0x0002;
+
+  private static final int ACC_STATIC = 0x0008;
+
+  private static final int ACC_FINAL = 0x0010;
+
+  private static final int ACC_SUPER = 0x0020;
+
+  private final MethodHandle handle;
+
+  private CompiledEvaluationLoader(MethodHandle aHandle) {
+    super(CompiledEvaluation.class.getClassLoader());
+    this.handle = aHandle;
+  }
+
+  public MethodHandle handle() {
+    return handle;
+  }
+
+  /*
+   * The handle must be of type (long, int) to boolean.
+   */
+  public static CompiledEvaluation load(MethodHandle aHandle) {
+    CompiledEvaluationLoader aLoader = new CompiledEvaluationLoader(aHandle);
+    byte[] aClassFile = classFile();
+    try {
+      return (CompiledEvaluation) aLoader.defineClass(
+          CLASS_NAME.replace('/', '.'), aClassFile, 0, aClassFile.length).
+        getConstructor().
+        newInstance();
+    } catch (ReflectiveOperationException anException) {
+      throw new IllegalStateException(anException);
+    }
+  }
+
+  /*
+   * Constant pool indexes follow the order the entries are written in.
+   */
+  private static byte[] classFile() {
+    ByteArrayOutputStream aClassFile = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(aClassFile);
+    try {
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(52);
+      out.writeShort(36);
+      utf8(out, CLASS_NAME);                                         // 1
+      classOf(out, 1);                                               // 2
+      utf8(out, "java/lang/Object");                                 // 3
+      classOf(out, 3);                                               // 4
+      utf8(out, CompiledEvaluation.class.getName().replace('.', '/')); // 5
+      classOf(out, 5);                                               // 6
+      utf8(out, "HANDLE");                                           // 7
+      utf8(out, HANDLE_DESCRIPTOR);                                  // 8
+      utf8(out, "<clinit>");                                         // 9
+      utf8(out, "()V");                                              // 10
+      utf8(out, "Code");                                             // 11
+      utf8(out, "<init>");                                           // 12
+      utf8(out, "evaluate");                                         // 13
+      utf8(out, EVALUATE_DESCRIPTOR);                                // 14
+      utf8(out, "java/lang/Class");                                  // 15
+      classOf(out, 15);                                              // 16
+      utf8(out, "getClassLoader");                                   // 17
+      utf8(out, "()Ljava/lang/ClassLoader;");                        // 18
+      nameAndType(out, 17, 18);                                      // 19
+      reference(out, 10, 16, 19);                                    // 20
+      utf8(out, CompiledEvaluationLoader.class.getName().replace('.', '/')); // 21
+      classOf(out, 21);                                              // 22
+      utf8(out, "handle");                                           // 23
+      utf8(out, "()" + HANDLE_DESCRIPTOR);                           // 24
+      nameAndType(out, 23, 24);                                      // 25
+      reference(out, 10, 22, 25);                                    // 26
+      nameAndType(out, 7, 8);                                        // 27
+      reference(out, 9, 2, 27);                                      // 28
+      nameAndType(out, 12, 10);                                      // 29
+      reference(out, 10, 4, 29);                                     // 30
+      utf8(out, "java/lang/invoke/MethodHandle");                    // 31
+      classOf(out, 31);                                              // 32
+      utf8(out, "invokeExact");                                      // 33
+      nameAndType(out, 33, 14);                                      // 34
+      reference(out, 10, 32, 34);                                    // 35
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(2);
+      out.writeShort(4);
+      out.writeShort(1);
+      out.writeShort(6);
+      out.writeShort(1);
+      out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+      out.writeShort(7);
+      out.writeShort(8);
+      out.writeShort(0);
+      out.writeShort(3);
+      // HANDLE = ((CompiledEvaluationLoader) X.class.getClassLoader()).handle()
+      method(out, ACC_STATIC, 9, 10, 1, 0, new byte[] {
+          0x12, 2,
+          (byte) 0xb6, 0, 20,
+          (byte) 0xc0, 0, 22,
+          (byte) 0xb6, 0, 26,
+          (byte) 0xb3, 0, 28,
+          (byte) 0xb1 });
+      // super()
+      method(out, ACC_PUBLIC, 12, 10, 1, 1, new byte[] {
+          0x2a,
+          (byte) 0xb7, 0, 30,
+          (byte) 0xb1 });
+      // return (boolean) HANDLE.invokeExact(anEpochDay, aMillisOfDay)
+      method(out, ACC_PUBLIC, 13, 14, 4, 4, new byte[] {
+          (byte) 0xb2, 0, 28,
+          0x1f,
+          0x1d,
+          (byte) 0xb6, 0, 35,
+          (byte) 0xac });
+      out.writeShort(0);
+    } catch (IOException anException) {
+      throw new IllegalStateException(anException);
+    }
+    return aClassFile.toByteArray();
+  }
+
+  private static void utf8(DataOutputStream out, String aString)
+      throws IOException {
+    out.writeByte(1);
+    out.writeUTF(aString);
+  }
+
+  private static void classOf(DataOutputStream out, int aNameIndex)
+      throws IOException {
+    out.writeByte(7);
+    out.writeShort(aNameIndex);
+  }
+
+  private static void nameAndType(
+      DataOutputStream out,
+      int aNameIndex,
+      int aDescriptorIndex) throws IOException {
+    out.writeByte(12);
+    out.writeShort(aNameIndex);
+    out.writeShort(aDescriptorIndex);
+  }
+
+  private static void reference(
+      DataOutputStream out,
+      int aTag,
+      int aClassIndex,
+      int aNameAndTypeIndex) throws IOException {
+    out.writeByte(aTag);
+    out.writeShort(aClassIndex);
+    out.writeShort(aNameAndTypeIndex);
+  }
+
+  private static void method(
+      DataOutputStream out,
+      int theAccessFlags,
+      int aNameIndex,
+      int aDescriptorIndex,
+      int aMaximumStack,
+      int aMaximumLocals,
+      byte[] theCode) throws IOException {
+    out.writeShort(theAccessFlags);
+    out.writeShort(aNameIndex);
+    out.writeShort(aDescriptorIndex);
+    out.writeShort(1);
+    out.writeShort(11);
+    out.writeInt(12 + theCode.length);
+    out.writeShort(aMaximumStack);
+    out.writeShort(aMaximumLocals);
+    out.writeInt(theCode.length);
+    out.write(theCode);
+    out.writeShort(0);
+    out.writeShort(0);
+  }
+}
@@ -0,0 +1,42 @@
+package com.eventspipe;
+
+import java.lang.invoke.MethodHandle;
+
+import org.joda.time.LocalDateTime;
+
+/*
+ * Evaluates like the expression it was compiled from, through a single
+ * method handle instead of the expression tree. The handle is held as a
+ * constant of a class spun for it, so it inlines. It does not follow later
+ * changes to the expression, such as a new ending.
+ */
+public class CompiledTimeExpression {
+
+  private TimeExpression timeExpression;
+
+  private final CompiledEvaluation evaluation;
+
+  public CompiledTimeExpression(
+      TimeExpression aTimeExpression,
+      MethodHandle anEvaluation) {
+    this.timeExpression = aTimeExpression;
+    this.evaluation = CompiledEvaluationLoader.load(anEvaluation);
+  }
+
+  public TimeExpression timeExpression() {
+    return timeExpression;
+  }
+
+  public boolean evaluate(LocalDateTime aDateTime) {
+    return evaluate(
+        EpochDay.of(
+            aDateTime.getYear(),
+            aDateTime.getMonthOfYear(),
+            aDateTime.getDayOfMonth()),
+        aDateTime.getMillisOfDay());
+  }
+
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return evaluation.evaluate(anEpochDay, aMillisOfDay);
+  }
+}
@@ -0,0 +1,302 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.joda.time.LocalDateTime;
+
+/*
+ * Reports every pair of expressions with overlapping occurrences over a
+ * horizon. Occurrences are swept in starting order through the merged
+ * cursors of all the expressions. The ones still running are kept per
+ * expression, and only the expressions with some are visited, so each
+ * starting occurrence costs one visit per expression it conflicts with.
+ * Since every overlap found then begins at that start, the earliest one
+ * of a pair is always with the earliest running occurrence of the other
+ * expression. The parallel sweep splits the horizon into chunks, each one
+ * first replaying the day before it, since occurrences started then can
+ * still be running when the chunk starts.
+ */
+public class ConflictSweep {
+
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private TimeExpression[] timeExpressions;
+
+  public ConflictSweep(List<? extends TimeExpression> theTimeExpressions) {
+    timeExpressions = theTimeExpressions.toArray(
+        new TimeExpression[theTimeExpressions.size()]);
+  }
+
+  /*
+   * Pairs of expressions with overlapping occurrences starting from one
+   * date time to another, both inclusive, each with its earliest overlap,
+   * ordered by the positions of the expressions.
+   */
+  public List<ConflictingPair> conflictsBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    long aStart = EpochDay.millisOf(aDateTime);
+    return conflictingPairsOf(sweep(
+        aStart, aStart, EpochDay.millisOf(anotherDateTime) + 1));
+  }
+
+  public List<ConflictingPair> parallelConflictsBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    long aStart = EpochDay.millisOf(aDateTime);
+    long aLimit = EpochDay.millisOf(anotherDateTime) + 1;
+    if (aLimit <= aStart) {
+      return new ArrayList<>();
+    }
+    int numberOfChunks = (int) Math.min(
+        ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD,
+        (aLimit - aStart - 1) / EpochDay.MILLIS_PER_DAY + 1);
+    long aChunkLength = (aLimit - aStart + numberOfChunks - 1) / numberOfChunks;
+    return conflictingPairsOf(IntStream.range(0, numberOfChunks).
+        parallel().
+        mapToObj(aChunk -> sweep(
+            aStart,
+            aStart + aChunk * aChunkLength,
+            Math.min(aStart + (aChunk + 1) * aChunkLength, aLimit))).
+        reduce(ConflictSweep::merge).
+        get());
+  }
+
+  /*
+   * Overlaps found by the occurrences starting from the chunk start, up to
+   * its limit, excluded. Those started the day before are only kept
+   * running.
+   */
+  private Map<Long, Overlap> sweep(
+      long aHorizonStart,
+      long aChunkStart,
+      long aChunkLimit) {
+    Map<Long, Overlap> overlaps = new HashMap<>();
+    if (aChunkLimit <= aChunkStart) {
+      return overlaps;
+    }
+    LocalDateTime aReplayStart = EpochDay.dateTimeOf(
+        Math.max(aHorizonStart, aChunkStart - EpochDay.MILLIS_PER_DAY));
+    LocalDateTime aLastStart = EpochDay.dateTimeOf(aChunkLimit - 1);
+    OccurrenceCursor[] cursors = new OccurrenceCursor[timeExpressions.length];
+    for (int anIndex = 0; anIndex < timeExpressions.length; anIndex++) {
+      cursors[anIndex] =
+          timeExpressions[anIndex].cursorBetween(aReplayStart, aLastStart);
+    }
+    MergedOccurrenceCursor aCursor = new MergedOccurrenceCursor(cursors);
+    RunningOccurrences[] running =
+        new RunningOccurrences[timeExpressions.length];
+    int[] active = new int[timeExpressions.length];
+    int[] activePositions = new int[timeExpressions.length];
+    Arrays.fill(activePositions, -1);
+    int numberOfActive = 0;
+    while (aCursor.advance()) {
+      long aStart = aCursor.startEpochMillis();
+      long anEnd = aCursor.endEpochMillis();
+      int anIndex = aCursor.cursorIndex();
+      if (aStart >= aChunkStart) {
+        int aPosition = 0;
+        while (aPosition < numberOfActive) {
+          int anotherIndex = active[aPosition];
+          RunningOccurrences anotherRunning = running[anotherIndex];
+          anotherRunning.removeEndingBy(aStart);
+          if (anotherRunning.isEmpty()) {
+            active[aPosition] = active[--numberOfActive];
+            activePositions[active[aPosition]] = aPosition;
+            activePositions[anotherIndex] = -1;
+            continue;
+          }
+          if (anotherIndex != anIndex) {
+            int anEarliest = anotherRunning.earliest(aStart);
+            record(
+                overlaps,
+                new Overlap(
+                    anotherIndex,
+                    anotherRunning.starts[anEarliest],
+                    anotherRunning.ends[anEarliest],
+                    anIndex,
+                    aStart,
+                    anEnd));
+          }
+          aPosition++;
+        }
+      }
+      if (running[anIndex] == null) {
+        running[anIndex] = new RunningOccurrences();
+      }
+      running[anIndex].add(aStart, anEnd);
+      if (activePositions[anIndex] < 0) {
+        activePositions[anIndex] = numberOfActive;
+        active[numberOfActive++] = anIndex;
+      }
+    }
+    return overlaps;
+  }
+
+  private void record(Map<Long, Overlap> overlaps, Overlap anOverlap) {
+    Long aKey = (long) anOverlap.index * timeExpressions.length +
+        anOverlap.anotherIndex;
+    Overlap anotherOverlap = overlaps.get(aKey);
+    if (anotherOverlap == null || anOverlap.precedes(anotherOverlap)) {
+      overlaps.put(aKey, anOverlap);
+    }
+  }
+
+  private static Map<Long, Overlap> merge(
+      Map<Long, Overlap> overlaps,
+      Map<Long, Overlap> otherOverlaps) {
+    for (Map.Entry<Long, Overlap> anEntry : otherOverlaps.entrySet()) {
+      Overlap anOverlap = overlaps.get(anEntry.getKey());
+      if (anOverlap == null || anEntry.getValue().precedes(anOverlap)) {
+        overlaps.put(anEntry.getKey(), anEntry.getValue());
+      }
+    }
+    return overlaps;
+  }
+
+  private List<ConflictingPair> conflictingPairsOf(
+      Map<Long, Overlap> overlaps) {
+    Overlap[] sortedOverlaps =
+        overlaps.values().toArray(new Overlap[overlaps.size()]);
+    Arrays.sort(
+        sortedOverlaps,
+        Comparator.<Overlap>comparingInt(anOverlap -> anOverlap.index).
+          thenComparingInt(anOverlap -> anOverlap.anotherIndex));
+    List<ConflictingPair> conflictingPairs = new ArrayList<>();
+    for (Overlap anOverlap : sortedOverlaps) {
+      conflictingPairs.add(new ConflictingPair(
+          new ExpressionConflict(
+              timeExpressions[anOverlap.index],
+              new DateTimeSpan(
+                  EpochDay.dateTimeOf(anOverlap.start),
+                  EpochDay.dateTimeOf(anOverlap.end))),
+          new ExpressionConflict(
+              timeExpressions[anOverlap.anotherIndex],
+              new DateTimeSpan(
+                  EpochDay.dateTimeOf(anOverlap.anotherStart),
+                  EpochDay.dateTimeOf(anOverlap.anotherEnd)))));
+    }
+    return conflictingPairs;
+  }
+
+  /*
+   * Two overlapping occurrences, the one of the expression with the lower
+   * position first. Overlaps of the same pair are ordered by when they
+   * begin and then by their occurrences, so every chunking of the horizon
+   * keeps the same one.
+   */
+  private static class Overlap {
+
+    private int index;
+    private long start;
+    private long end;
+    private int anotherIndex;
+    private long anotherStart;
+    private long anotherEnd;
+
+    private Overlap(
+        int anIndex,
+        long aStart,
+        long anEnd,
+        int anotherIndex,
+        long anotherStart,
+        long anotherEnd) {
+      if (anIndex < anotherIndex) {
+        this.index = anIndex;
+        this.start = aStart;
+        this.end = anEnd;
+        this.anotherIndex = anotherIndex;
+        this.anotherStart = anotherStart;
+        this.anotherEnd = anotherEnd;
+      } else {
+        this.index = anotherIndex;
+        this.start = anotherStart;
+        this.end = anotherEnd;
+        this.anotherIndex = anIndex;
+        this.anotherStart = aStart;
+        this.anotherEnd = anEnd;
+      }
+    }
+
+    private boolean precedes(Overlap anOverlap) {
+      long aBeginning = Math.max(start, anotherStart);
+      long anotherBeginning = Math.max(anOverlap.start, anOverlap.anotherStart);
+      if (aBeginning != anotherBeginning) {
+        return aBeginning < anotherBeginning;
+      }
+      if (start != anOverlap.start) {
+        return start < anOverlap.start;
+      }
+      if (end != anOverlap.end) {
+        return end < anOverlap.end;
+      }
+      if (anotherStart != anOverlap.anotherStart) {
+        return anotherStart < anOverlap.anotherStart;
+      }
+      return anotherEnd < anOverlap.anotherEnd;
+    }
+  }
+
+  /*
+   * Occurrences of one expression in starting order. Those ending by a
+   * start are dropped from the front only, so ones ended behind a longer
+   * occurrence stay until it ends; they are skipped when looking for the
+   * earliest running one.
+   */
+  private static class RunningOccurrences {
+
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private int first;
+    private int last;
+
+    private boolean isEmpty() {
+      return first == last;
+    }
+
+    private void add(long aStart, long anEnd) {
+      if (last == starts.length) {
+        int aSize = last - first;
+        if (aSize * 2 > starts.length) {
+          starts = Arrays.copyOf(starts, starts.length * 2);
+          ends = Arrays.copyOf(ends, ends.length * 2);
+        }
+        System.arraycopy(starts, first, starts, 0, aSize);
+        System.arraycopy(ends, first, ends, 0, aSize);
+        first = 0;
+        last = aSize;
+      }
+      starts[last] = aStart;
+      ends[last] = anEnd;
+      last++;
+    }
+
+    private void removeEndingBy(long aDateTime) {
+      while (first < last && ends[first] <= aDateTime) {
+        first++;
+      }
+    }
+
+    /*
+     * The shortest of the running occurrences starting with the first one.
+     */
+    private int earliest(long aDateTime) {
+      int anEarliest = first;
+      for (int aPosition = first + 1;
+          aPosition < last && starts[aPosition] == starts[first];
+          aPosition++) {
+        if (ends[aPosition] > aDateTime && ends[aPosition] < ends[anEarliest]) {
+          anEarliest = aPosition;
+        }
+      }
+      return anEarliest;
+    }
+  }
+}
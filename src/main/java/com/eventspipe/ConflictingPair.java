@@ -0,0 +1,48 @@
+package com.eventspipe;
+
+public class ConflictingPair {
+
+  private ExpressionConflict first;
+
+  private ExpressionConflict second;
+
+  public ConflictingPair(
+      ExpressionConflict aConflict,
+      ExpressionConflict anotherConflict) {
+    first = aConflict;
+    second = anotherConflict;
+  }
+
+  public ExpressionConflict first() {
+    return first;
+  }
+
+  public ExpressionConflict second() {
+    return second;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + first.hashCode();
+    result = prime * result + second.hashCode();
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ConflictingPair other = (ConflictingPair) obj;
+    if (!first.equals(other.first))
+      return false;
+    if (!second.equals(other.second))
+      return false;
+    return true;
+  }
+}
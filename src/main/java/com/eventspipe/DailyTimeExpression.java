@@ -25,6 +25,16 @@ public class DailyTimeExpression extends PeriodicTimeExpression {
     return (Days) magnitude();
   }
 
+  @Override
+  protected long unitsSinceStart(long anEpochDay) {
+    return anEpochDay - startingEpochDay;
+  }
+
+  @Override
+  protected long epochDayAt(int aRepetition) {
+    return startingEpochDay + (long) days().getDays() * aRepetition;
+  }
+
   @Override
   public int hashCode() {
     return super.hashCode();
@@ -18,9 +18,12 @@ public class DateTimeExpression extends TimeExpression {
 
   private LocalDate date;
 
+  protected long epochDay;
+
   public DateTimeExpression(LocalDate aDate, TimeSpan[] timePeriods) {
     super(timePeriods);
     this.date = aDate;
+    this.epochDay = EpochDay.of(aDate);
   }
 
   public LocalDate date() {
@@ -37,6 +40,16 @@ public class DateTimeExpression extends TimeExpression {
     return numberOfOcurringDays() * timeSpans.length;
   }
 
+  @Override
+  protected long startingEpochDay() {
+    return epochDay;
+  }
+
+  @Override
+  protected long endingEpochDay() {
+    return epochDay;
+  }
+
   @Override
   public LocalDateTime endingDateTime() {
     return this.date.toLocalDateTime(
@@ -54,6 +67,8 @@ public class DateTimeExpression extends TimeExpression {
         TimeSpan.fromTo(
             this.timeSpans[timeSpans.length - 1].startingTime(),
             anEndingDateTime.toLocalTime());
+    indexTimeSpans();
+    changed();
   }
 
   @Override
@@ -91,6 +106,70 @@ public class DateTimeExpression extends TimeExpression {
     return iterator;
   }
 
+  @Override
+  public DateTimeSpan occurrenceAt(long anOrdinal) {
+    if (anOrdinal < 0 || anOrdinal >= timeSpans.length) {
+      throw TimeExpressionException.ORDINAL_INVALID;
+    }
+    return timeSpans[(int) anOrdinal].on(this.date);
+  }
+
+  @Override
+  public long ordinalOf(LocalDateTime aDateTime) {
+    if (aDateTime.toLocalDate().isBefore(this.date)) {
+      return 0;
+    }
+    if (aDateTime.toLocalDate().isAfter(this.date)) {
+      return timeSpans.length;
+    }
+    return timeSpanIndexFrom(aDateTime.toLocalTime());
+  }
+
+  @Override
+  protected long ordinalLimit() {
+    return timeSpans.length;
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    return new TimeExpressionOccurrenceCursor(
+        timeSpans, 
+        this::epochDayAt, 
+        0, 
+        timeSpans.length);
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate,
+      LocalDate anotherDate) {
+    long anOrdinalLimit = 0;
+    if (EpochDay.of(aDate) <= this.epochDay &&
+        this.epochDay <= EpochDay.of(anotherDate)) {
+      anOrdinalLimit = timeSpans.length;
+    }
+    return new TimeExpressionOccurrenceCursor(
+        timeSpans, 
+        this::epochDayAt, 
+        0, 
+        anOrdinalLimit);
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    return new TimeExpressionOccurrenceCursor(
+        timeSpans, 
+        this::epochDayAt, 
+        ordinalOf(aDateTime), 
+        ordinalLimitUntil(anotherDateTime));
+  }
+
+  private long epochDayAt(int aRepetition) {
+    return this.epochDay;
+  }
+
   @Override
   public boolean evaluate(LocalDate aDate) {
     boolean matches = true;
@@ -98,6 +177,11 @@ public class DateTimeExpression extends TimeExpression {
     return matches;
   }
 
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    return this.epochDay == anEpochDay;
+  }
+
   @Override
   public String toString() {
     return new StringBuffer("El dia ").
@@ -6,7 +6,11 @@ public class DateTimeSpanComparator implements Comparator<DateTimeSpan> {
 
   @Override
   public int compare(DateTimeSpan o1, DateTimeSpan o2) {
-    return (o1.startingDateTime().toLocalDate()).
-        compareTo(o2.startingDateTime().toLocalDate());
+    int comparison =
+        o1.startingDateTime().compareTo(o2.startingDateTime());
+    if (comparison != 0) {
+      return comparison;
+    }
+    return o1.endingDateTime().compareTo(o2.endingDateTime());
   }
 }
@@ -1,6 +1,5 @@
 package com.eventspipe;
 
-import org.joda.time.LocalDate;
 import org.joda.time.Months;
 
 import com.eventspipe.TimeExpressionDuration.TimeExpressionDateSpanDuration;
@@ -15,6 +14,12 @@ public class DayOfMonthTimeExpression extends PeriodicTimeExpression {
 
   private DayOfMonth dayOfMonth;
 
+  private int startingMonthIndex;
+
+  private int startingDayOfMonth;
+
+  private int dayOfMonthIndex;
+
   public DayOfMonthTimeExpression(
       Months months,
       DayOfMonth aDayOfMonth,
@@ -22,12 +27,28 @@ public class DayOfMonthTimeExpression extends PeriodicTimeExpression {
       TimeSpan[] timePeriods) {
     super(months, theDuration, timePeriods);
     this.dayOfMonth = aDayOfMonth;
+    this.startingMonthIndex = EpochDay.monthIndexOf(
+        theDuration.startingDate().getYear(), 
+        theDuration.startingDate().getMonthOfYear());
+    this.startingDayOfMonth = theDuration.startingDate().getDayOfMonth();
+    this.dayOfMonthIndex = aDayOfMonth.index();
   }
   
   @Override
-  public boolean doEvaluate(LocalDate aDate) {
-    return DayOfMonth.valueOf(aDate.getDayOfMonth()).
-          equals(dayOfMonth);
+  protected long unitsSinceStart(long anEpochDay) {
+    return EpochDay.monthIndexOf(anEpochDay) - startingMonthIndex;
+  }
+
+  @Override
+  protected boolean doEvaluate(long anEpochDay) {
+    return EpochDay.dayOfMonthOf(anEpochDay) == dayOfMonthIndex;
+  }
+
+  @Override
+  protected long epochDayAt(int aRepetition) {
+    return EpochDay.ofMonthDay(
+        startingMonthIndex + months().getMonths() * aRepetition, 
+        startingDayOfMonth);
   }
 
   public Months months() {
@@ -1,11 +1,10 @@
 package com.eventspipe;
 
-import java.util.Iterator;
-
 import org.joda.time.DateTimeConstants;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.joda.time.Months;
+import org.joda.time.YearMonth;
 
 import com.eventspipe.TimeExpressionDuration.TimeExpressionDateSpanDuration;
 import com.eventspipe.TimeExpressionDuration.TimeExpressionEndsNeverDuration;
@@ -22,6 +21,12 @@ public class DayOfWeekInWeekOfMonthTimeExpression extends
 
   private DayOfWeek dayOfWeek;
 
+  private int startingMonthIndex;
+
+  private int dayOfWeekIndex;
+
+  private int weekOfMonthIndex;
+
   public DayOfWeekInWeekOfMonthTimeExpression(
       Months months,
       DayOfWeek aDayOfWeek,
@@ -31,11 +36,34 @@ public class DayOfWeekInWeekOfMonthTimeExpression extends
     super(months, theDuration, timePeriods);
     this.weekOfMonth = aWeekOfMonth;
     this.dayOfWeek = aDayOfWeek;
+    this.startingMonthIndex = EpochDay.monthIndexOf(
+        theDuration.startingDate().getYear(), 
+        theDuration.startingDate().getMonthOfYear());
+    this.dayOfWeekIndex = aDayOfWeek.index();
+    this.weekOfMonthIndex = aWeekOfMonth.index();
   }
   
   @Override
-  public boolean doEvaluate(LocalDate aDate) {
-    return matchesDayOfWeek(aDate) && matchesWeekOfMonth(aDate);
+  protected long unitsSinceStart(long anEpochDay) {
+    return EpochDay.monthIndexOf(anEpochDay) - startingMonthIndex;
+  }
+
+  @Override
+  protected boolean doEvaluate(long anEpochDay) {
+    if (EpochDay.dayOfWeek(anEpochDay) != dayOfWeekIndex) {
+      return false;
+    }
+    int aDayOfMonth = EpochDay.dayOfMonthOf(anEpochDay);
+    if (weekOfMonthIndex == WeekOfMonth.LAST_WEEK_INDEX) {
+      int aMonthIndex = EpochDay.monthIndexOf(anEpochDay);
+      return aDayOfMonth + DateTimeConstants.DAYS_PER_WEEK > 
+          EpochDay.lengthOfMonth(
+              Math.floorDiv(aMonthIndex, 12), 
+              Math.floorMod(aMonthIndex, 12) + 1);
+    }
+    int lastDayOfWeek = weekOfMonthIndex * DateTimeConstants.DAYS_PER_WEEK;
+    int firstDayOfWeek = lastDayOfWeek - DateTimeConstants.DAYS_PER_WEEK;
+    return firstDayOfWeek < aDayOfMonth && aDayOfMonth <= lastDayOfWeek;
   }
 
   public boolean matchesDayOfWeek(LocalDate aDate) {
@@ -55,18 +83,37 @@ public class DayOfWeekInWeekOfMonthTimeExpression extends
   }
 
   @Override
-  public Iterator<DateTimeSpan> iterator() {
-    return TimeExpressionIterator.on(
-        this, startingDate(), endingDate());
+  protected LocalDate repetitionAt(int aRepetition) {
+    YearMonth aYearMonth = 
+        new YearMonth(
+          duration.startingDate().getYear(), 
+          duration.startingDate().getMonthOfYear()).
+            plusMonths(months().getMonths() * aRepetition);
+    return MonthOfYear.on(
+        aYearMonth.getMonthOfYear(), 
+        aYearMonth.getYear()).
+          dateOfOn(dayOfWeek, weekOfMonth);
   }
-
+  
   @Override
-  public Iterator<DateTimeSpan> iteratorFromTo(
-      LocalDate aDate, LocalDate anotherDate) {
-    return TimeExpressionIterator.on(
-        this, aDate, anotherDate);
+  protected long epochDayAt(int aRepetition) {
+    int aMonthIndex = startingMonthIndex + months().getMonths() * aRepetition;
+    int aYear = Math.floorDiv(aMonthIndex, 12);
+    int aMonth = Math.floorMod(aMonthIndex, 12) + 1;
+    if (WeekOfMonth.LAST.equals(weekOfMonth)) {
+      long aLastEpochDay = 
+          EpochDay.of(aYear, aMonth, EpochDay.lengthOfMonth(aYear, aMonth));
+      return aLastEpochDay - Math.floorMod(
+          EpochDay.dayOfWeek(aLastEpochDay) - dayOfWeek.index(), 
+          DateTimeConstants.DAYS_PER_WEEK);
+    }
+    long aFirstEpochDay = EpochDay.of(aYear, aMonth, 1);
+    return aFirstEpochDay + Math.floorMod(
+        dayOfWeek.index() - EpochDay.dayOfWeek(aFirstEpochDay), 
+        DateTimeConstants.DAYS_PER_WEEK) + 
+        (weekOfMonth.index() - 1) * DateTimeConstants.DAYS_PER_WEEK;
   }
-  
+
   public WeekOfMonth weekOfMonth() {
     return this.weekOfMonth;
   }
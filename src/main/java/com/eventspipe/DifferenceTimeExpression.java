@@ -0,0 +1,42 @@
+package com.eventspipe;
+
+import java.nio.LongBuffer;
+import java.util.BitSet;
+
+/*
+ * The parts of the occurrences of an expression that another one leaves
+ * free, like business hours except holiday closures.
+ */
+public class DifferenceTimeExpression extends JoinTimeExpression {
+
+  public static final String TYPE_NAME = "DifferenceTimeExpression";
+
+  public DifferenceTimeExpression(
+      TimeExpression aTimeExpression,
+      TimeExpression anotherTimeExpression) {
+    super(aTimeExpression, anotherTimeExpression);
+  }
+
+  @Override
+  protected boolean keepsCoveredTime() {
+    return false;
+  }
+
+  @Override
+  protected String typeName() {
+    return "#Difference";
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return leftExpression.evaluate(anEpochDay, aMillisOfDay) &&
+        !rightExpression.evaluate(anEpochDay, aMillisOfDay);
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    BitSet matches = leftExpression.evaluateAll(theEpochMillis);
+    matches.andNot(rightExpression.evaluateAll(theEpochMillis));
+    return matches;
+  }
+}
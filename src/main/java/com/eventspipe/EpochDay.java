@@ -0,0 +1,120 @@
+package com.eventspipe;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+public class EpochDay {
+
+  public static final long MILLIS_PER_DAY = DateTimeConstants.MILLIS_PER_DAY;
+
+  public static final int DAYS_PER_ERA = 146097;
+
+  public static final int MONTHS_PER_ERA = 4800;
+
+  private static final int DAYS_FROM_ERA_START_TO_EPOCH = 719468;
+
+  private EpochDay() {
+  }
+
+  public static long of(int aYear, int aMonth, int aDay) {
+    int anYearOfEra = aMonth <= 2 ? aYear - 1 : aYear;
+    int anEra = (anYearOfEra >= 0 ? anYearOfEra : anYearOfEra - 399) / 400;
+    anYearOfEra = anYearOfEra - anEra * 400;
+    int aDayOfYear = 
+        (153 * (aMonth + (aMonth > 2 ? -3 : 9)) + 2) / 5 + aDay - 1;
+    int aDayOfEra = 
+        anYearOfEra * 365 + anYearOfEra / 4 - anYearOfEra / 100 + aDayOfYear;
+    return (long) anEra * DAYS_PER_ERA + aDayOfEra - DAYS_FROM_ERA_START_TO_EPOCH;
+  }
+
+  public static long of(LocalDate aDate) {
+    return of(
+        aDate.getYear(), 
+        aDate.getMonthOfYear(), 
+        aDate.getDayOfMonth());
+  }
+
+  public static LocalDate dateOf(long anEpochDay) {
+    int aMonthIndex = monthIndexOf(anEpochDay);
+    return new LocalDate(
+        Math.floorDiv(aMonthIndex, 12), 
+        Math.floorMod(aMonthIndex, 12) + 1, 
+        dayOfMonthOf(anEpochDay));
+  }
+
+  /*
+   * Local date times as epoch millis read as if they were UTC, the way
+   * occurrence cursors report them.
+   */
+  public static long millisOf(LocalDateTime aDateTime) {
+    return of(
+        aDateTime.getYear(), 
+        aDateTime.getMonthOfYear(), 
+        aDateTime.getDayOfMonth()) * MILLIS_PER_DAY + 
+        aDateTime.getMillisOfDay();
+  }
+
+  public static LocalDateTime dateTimeOf(long anEpochMillis) {
+    return new LocalDateTime(anEpochMillis, DateTimeZone.UTC);
+  }
+
+  public static boolean isLeapYear(int aYear) {
+    return (aYear % 4 == 0) && (aYear % 100 != 0 || aYear % 400 == 0);
+  }
+
+  public static int lengthOfMonth(int aYear, int aMonth) {
+    switch (aMonth) {
+      case DateTimeConstants.FEBRUARY:
+        return isLeapYear(aYear) ? 29 : 28;
+      case DateTimeConstants.APRIL:
+      case DateTimeConstants.JUNE:
+      case DateTimeConstants.SEPTEMBER:
+      case DateTimeConstants.NOVEMBER:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  public static int monthIndexOf(long anEpochDay) {
+    return civilOf(anEpochDay) >> 5;
+  }
+
+  public static int dayOfMonthOf(long anEpochDay) {
+    return civilOf(anEpochDay) & 31;
+  }
+
+  /*
+   * Month index and day of month packed as monthIndex * 32 + dayOfMonth.
+   */
+  private static int civilOf(long anEpochDay) {
+    long aShiftedEpochDay = anEpochDay + DAYS_FROM_ERA_START_TO_EPOCH;
+    long anEra = Math.floorDiv(aShiftedEpochDay, DAYS_PER_ERA);
+    int aDayOfEra = (int) (aShiftedEpochDay - anEra * DAYS_PER_ERA);
+    int anYearOfEra = (aDayOfEra - aDayOfEra / 1460 + 
+        aDayOfEra / 36524 - aDayOfEra / 146096) / 365;
+    int aDayOfYear = 
+        aDayOfEra - (365 * anYearOfEra + anYearOfEra / 4 - anYearOfEra / 100);
+    int aShiftedMonth = (5 * aDayOfYear + 2) / 153;
+    int aDay = aDayOfYear - (153 * aShiftedMonth + 2) / 5 + 1;
+    int aMonth = aShiftedMonth < 10 ? aShiftedMonth + 3 : aShiftedMonth - 9;
+    int aYear = (int) (anYearOfEra + anEra * 400) + (aMonth <= 2 ? 1 : 0);
+    return monthIndexOf(aYear, aMonth) * 32 + aDay;
+  }
+
+  public static int dayOfWeek(long anEpochDay) {
+    return (int) Math.floorMod(anEpochDay + 3, 7L) + 1;
+  }
+
+  public static long ofMonthDay(int aMonthIndex, int aDay) {
+    int aYear = Math.floorDiv(aMonthIndex, 12);
+    int aMonth = Math.floorMod(aMonthIndex, 12) + 1;
+    return of(aYear, aMonth, Math.min(aDay, lengthOfMonth(aYear, aMonth)));
+  }
+
+  public static int monthIndexOf(int aYear, int aMonth) {
+    return aYear * 12 + aMonth - 1;
+  }
+}
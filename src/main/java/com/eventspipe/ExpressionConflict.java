@@ -0,0 +1,48 @@
+package com.eventspipe;
+
+public class ExpressionConflict {
+
+  private TimeExpression timeExpression;
+
+  private DateTimeSpan occurrence;
+
+  public ExpressionConflict(
+      TimeExpression aTimeExpression,
+      DateTimeSpan anOccurrence) {
+    timeExpression = aTimeExpression;
+    occurrence = anOccurrence;
+  }
+
+  public TimeExpression timeExpression() {
+    return timeExpression;
+  }
+
+  public DateTimeSpan occurrence() {
+    return occurrence;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + System.identityHashCode(timeExpression);
+    result = prime * result + occurrence.hashCode();
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ExpressionConflict other = (ExpressionConflict) obj;
+    if (timeExpression != other.timeExpression)
+      return false;
+    if (!occurrence.equals(other.occurrence))
+      return false;
+    return true;
+  }
+}
@@ -0,0 +1,292 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDateTime;
+
+/*
+ * Answers which of many expressions are active at a given date time.
+ * Leaves are bucketed by the day they can occur on: the residue of the
+ * epoch day for short daily periods (weekly expressions become dailies
+ * every seven days, so this is their day of week), the day of week, the
+ * day of month, the month day or the date. Inside each bucket, hourly
+ * cells hold the leaves whose time spans touch that hour, and only those
+ * leaves within their duration are evaluated exactly.
+ */
+public class ExpressionIndex {
+
+  public static final int MAXIMUM_INDEXED_PERIOD = 64;
+
+  private static final int MILLIS_PER_CELL = DateTimeConstants.MILLIS_PER_HOUR;
+
+  private static final int NUMBER_OF_CELLS = DateTimeConstants.HOURS_PER_DAY;
+
+  private static final int LAST_MILLIS_OF_DAY =
+      DateTimeConstants.MILLIS_PER_DAY - 1;
+
+  private List<TimeExpression> timeExpressions = new ArrayList<>();
+
+  private int[] periods = new int[0];
+
+  private Map<Long, TimeOfDayCells> residueCells = new HashMap<>();
+
+  private TimeOfDayCells[] dayOfWeekCells = new TimeOfDayCells[8];
+
+  private TimeOfDayCells[] dayOfMonthCells = new TimeOfDayCells[32];
+
+  private Map<Integer, TimeOfDayCells> monthDayCells = new HashMap<>();
+
+  private Map<Long, TimeOfDayCells> dateCells = new HashMap<>();
+
+  private TimeOfDayCells unindexedCells = new TimeOfDayCells();
+
+  public ExpressionIndex() {
+  }
+
+  public ExpressionIndex(List<? extends TimeExpression> theTimeExpressions) {
+    for (TimeExpression aTimeExpression : theTimeExpressions) {
+      add(aTimeExpression);
+    }
+  }
+
+  public void add(TimeExpression aTimeExpression) {
+    timeExpressions.add(aTimeExpression);
+    for (TimeExpression aLeafExpression : aTimeExpression.leafExpressions()) {
+      if (!(aLeafExpression instanceof NullTimeExpression)) {
+        cellsOf(aLeafExpression).add(
+            new IndexedLeaf(aTimeExpression, aLeafExpression));
+      }
+    }
+  }
+
+  public int size() {
+    return timeExpressions.size();
+  }
+
+  public List<TimeExpression> timeExpressions() {
+    return Collections.unmodifiableList(timeExpressions);
+  }
+
+  private TimeOfDayCells cellsOf(TimeExpression aLeafExpression) {
+    if (aLeafExpression instanceof DailyTimeExpression) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aLeafExpression;
+      int aPeriod = aDailyTimeExpression.magnitudeAmount;
+      if (aPeriod <= MAXIMUM_INDEXED_PERIOD) {
+        if (Arrays.binarySearch(periods, aPeriod) < 0) {
+          periods = Arrays.copyOf(periods, periods.length + 1);
+          periods[periods.length - 1] = aPeriod;
+          Arrays.sort(periods);
+        }
+        return residueCells.computeIfAbsent(
+            residueKeyOf(aPeriod, aDailyTimeExpression.startingEpochDay),
+            aKey -> new TimeOfDayCells());
+      }
+    } else if (aLeafExpression instanceof DayOfWeekInWeekOfMonthTimeExpression) {
+      return cellsAt(
+          dayOfWeekCells,
+          ((DayOfWeekInWeekOfMonthTimeExpression) aLeafExpression).
+            dayOfWeek().index());
+    } else if (aLeafExpression instanceof DayOfMonthTimeExpression) {
+      return cellsAt(
+          dayOfMonthCells,
+          ((DayOfMonthTimeExpression) aLeafExpression).dayOfMonth().index());
+    } else if (aLeafExpression instanceof YearlyTimeExpression) {
+      YearlyTimeExpression aYearlyTimeExpression =
+          (YearlyTimeExpression) aLeafExpression;
+      return monthDayCells.computeIfAbsent(
+          monthDayKeyOf(
+              aYearlyTimeExpression.monthDay().getMonthOfYear(),
+              aYearlyTimeExpression.monthDay().getDayOfMonth()),
+          aKey -> new TimeOfDayCells());
+    } else if (aLeafExpression instanceof DateTimeExpression) {
+      return dateCells.computeIfAbsent(
+          ((DateTimeExpression) aLeafExpression).epochDay,
+          aKey -> new TimeOfDayCells());
+    }
+    return unindexedCells;
+  }
+
+  private static TimeOfDayCells cellsAt(TimeOfDayCells[] theCells, int anIndex) {
+    if (theCells[anIndex] == null) {
+      theCells[anIndex] = new TimeOfDayCells();
+    }
+    return theCells[anIndex];
+  }
+
+  private static long residueKeyOf(int aPeriod, long anEpochDay) {
+    return ((long) aPeriod << 32) | Math.floorMod(anEpochDay, (long) aPeriod);
+  }
+
+  private static int monthDayKeyOf(int aMonthOfYear, int aDayOfMonth) {
+    return aMonthOfYear * 32 + aDayOfMonth;
+  }
+
+  public List<TimeExpression> activeAt(LocalDateTime aDateTime) {
+    return activeAt(
+        EpochDay.of(
+            aDateTime.getYear(),
+            aDateTime.getMonthOfYear(),
+            aDateTime.getDayOfMonth()),
+        aDateTime.getMillisOfDay());
+  }
+
+  /*
+   * Time spans crossing midnight are found through the next day cells of
+   * the day before.
+   */
+  public List<TimeExpression> activeAt(long anEpochDay, int aMillisOfDay) {
+    Query aQuery = new Query(anEpochDay, aMillisOfDay);
+    collectActive(aQuery, anEpochDay, false);
+    collectActive(aQuery, anEpochDay - 1, true);
+    return aQuery.active;
+  }
+
+  private void collectActive(Query aQuery, long aDay, boolean nextDay) {
+    for (int aPeriod : periods) {
+      aQuery.collect(
+          residueCells.get(residueKeyOf(aPeriod, aDay)), aDay, nextDay);
+    }
+    int aMonthIndex = EpochDay.monthIndexOf(aDay);
+    int aDayOfMonth = EpochDay.dayOfMonthOf(aDay);
+    aQuery.collect(dayOfWeekCells[EpochDay.dayOfWeek(aDay)], aDay, nextDay);
+    aQuery.collect(dayOfMonthCells[aDayOfMonth], aDay, nextDay);
+    aQuery.collect(
+        monthDayCells.get(
+            monthDayKeyOf(Math.floorMod(aMonthIndex, 12) + 1, aDayOfMonth)),
+        aDay,
+        nextDay);
+    aQuery.collect(dateCells.get(aDay), aDay, nextDay);
+    aQuery.collect(unindexedCells, aDay, nextDay);
+  }
+
+  /*
+   * The bounds of a leaf are read when filtering, since ending an
+   * expression moves them after it was indexed.
+   */
+  private static class IndexedLeaf {
+
+    private TimeExpression timeExpression;
+    private TimeExpression leafExpression;
+
+    private IndexedLeaf(
+        TimeExpression aTimeExpression,
+        TimeExpression aLeafExpression) {
+      timeExpression = aTimeExpression;
+      leafExpression = aLeafExpression;
+    }
+  }
+
+  private static class TimeOfDayCells {
+
+    private List<List<IndexedLeaf>> sameDayCells =
+        new ArrayList<>(Collections.nCopies(NUMBER_OF_CELLS, null));
+    private List<List<IndexedLeaf>> nextDayCells =
+        new ArrayList<>(Collections.nCopies(NUMBER_OF_CELLS, null));
+
+    private TimeOfDayCells() {
+    }
+
+    private void add(IndexedLeaf anIndexedLeaf) {
+      boolean[] sameDay = new boolean[NUMBER_OF_CELLS];
+      boolean[] nextDay = new boolean[NUMBER_OF_CELLS];
+      TimeSpan[] timeSpans = anIndexedLeaf.leafExpression.timeSpans();
+      if (timeSpans == null) {
+        mark(sameDay, 0, LAST_MILLIS_OF_DAY);
+        mark(nextDay, 0, LAST_MILLIS_OF_DAY);
+        timeSpans = new TimeSpan[0];
+      }
+      for (TimeSpan aTimeSpan : timeSpans) {
+        /*
+         * Ending a date time expression moves the end of its last time
+         * span anywhere up to the next day, so that span is marked until
+         * then.
+         */
+        if (anIndexedLeaf.leafExpression instanceof DateTimeExpression &&
+            aTimeSpan == timeSpans[timeSpans.length - 1]) {
+          mark(sameDay, aTimeSpan.startingMillisOfDay(), LAST_MILLIS_OF_DAY);
+          mark(nextDay, 0, LAST_MILLIS_OF_DAY);
+        } else if (aTimeSpan.endsNextDay()) {
+          mark(sameDay, aTimeSpan.startingMillisOfDay(), LAST_MILLIS_OF_DAY);
+          mark(nextDay, 0, aTimeSpan.endingMillisOfDay());
+        } else {
+          mark(
+              sameDay,
+              aTimeSpan.startingMillisOfDay(),
+              aTimeSpan.endingMillisOfDay());
+        }
+      }
+      for (int aCell = 0; aCell < NUMBER_OF_CELLS; aCell++) {
+        if (sameDay[aCell]) {
+          addTo(sameDayCells, aCell, anIndexedLeaf);
+        }
+        if (nextDay[aCell]) {
+          addTo(nextDayCells, aCell, anIndexedLeaf);
+        }
+      }
+    }
+
+    private static void mark(boolean[] theCells, int aStart, int anEnd) {
+      for (int aCell = aStart / MILLIS_PER_CELL;
+          aCell <= anEnd / MILLIS_PER_CELL;
+          aCell++) {
+        theCells[aCell] = true;
+      }
+    }
+
+    private static void addTo(
+        List<List<IndexedLeaf>> theCells,
+        int aCell,
+        IndexedLeaf anIndexedLeaf) {
+      if (theCells.get(aCell) == null) {
+        theCells.set(aCell, new ArrayList<>());
+      }
+      theCells.get(aCell).add(anIndexedLeaf);
+    }
+  }
+
+  private static class Query {
+
+    private long epochDay;
+    private int millisOfDay;
+    private int cell;
+    private Set<TimeExpression> found;
+    private List<TimeExpression> active;
+
+    private Query(long anEpochDay, int aMillisOfDay) {
+      epochDay = anEpochDay;
+      millisOfDay = aMillisOfDay;
+      cell = aMillisOfDay / MILLIS_PER_CELL;
+      found = Collections.newSetFromMap(new IdentityHashMap<>());
+      active = new ArrayList<>();
+    }
+
+    private void collect(TimeOfDayCells theCells, long aDay, boolean nextDay) {
+      if (theCells == null) {
+        return;
+      }
+      List<IndexedLeaf> candidates = nextDay ?
+          theCells.nextDayCells.get(cell) : theCells.sameDayCells.get(cell);
+      if (candidates == null) {
+        return;
+      }
+      for (IndexedLeaf aCandidate : candidates) {
+        if (aCandidate.leafExpression.startingEpochDay() <= aDay &&
+            aDay <= aCandidate.leafExpression.endingEpochDay() &&
+            !found.contains(aCandidate.timeExpression) &&
+            aCandidate.leafExpression.evaluate(epochDay, millisOfDay)) {
+          found.add(aCandidate.timeExpression);
+          active.add(aCandidate.timeExpression);
+        }
+      }
+    }
+  }
+}
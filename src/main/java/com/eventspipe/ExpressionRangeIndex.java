@@ -0,0 +1,242 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.joda.time.LocalDate;
+
+/*
+ * Answers which of many expressions have an occurrence starting between
+ * two dates. Leaves are sorted by the first day they can start on, each
+ * midpoint of the sorted array holding the latest ending day of its half,
+ * so a query only descends into halves that can overlap the range. The
+ * survivors are checked by seeking their own cursor to the range.
+ * Bookings are checked the same way against the occurrences that can
+ * reach into their span, optionally fanning the survivors out to the
+ * common fork join pool.
+ */
+public class ExpressionRangeIndex {
+
+  private int numberOfTimeExpressions;
+
+  private TimeExpression[] indexedTimeExpressions;
+
+  private TimeExpression[] timeExpressions;
+
+  private int[] timeExpressionIndices;
+
+  private TimeExpression[] leafExpressions;
+
+  private long[] startingEpochDays;
+
+  private long[] endingEpochDays;
+
+  private long[] latestEndingEpochDays;
+
+  public ExpressionRangeIndex(List<? extends TimeExpression> theTimeExpressions) {
+    List<Integer> owners = new ArrayList<>();
+    List<TimeExpression> leaves = new ArrayList<>();
+    numberOfTimeExpressions = theTimeExpressions.size();
+    indexedTimeExpressions =
+        theTimeExpressions.toArray(new TimeExpression[numberOfTimeExpressions]);
+    for (int anOwner = 0; anOwner < numberOfTimeExpressions; anOwner++) {
+      for (TimeExpression aLeafExpression :
+          theTimeExpressions.get(anOwner).leafExpressions()) {
+        if (!(aLeafExpression instanceof NullTimeExpression)) {
+          owners.add(anOwner);
+          leaves.add(aLeafExpression);
+        }
+      }
+    }
+    int aSize = leaves.size();
+    Integer[] order = new Integer[aSize];
+    for (int anIndex = 0; anIndex < aSize; anIndex++) {
+      order[anIndex] = anIndex;
+    }
+    Arrays.sort(
+        order,
+        Comparator.comparingLong(
+            anIndex -> leaves.get(anIndex).startingEpochDay()));
+    timeExpressions = new TimeExpression[aSize];
+    timeExpressionIndices = new int[aSize];
+    leafExpressions = new TimeExpression[aSize];
+    startingEpochDays = new long[aSize];
+    endingEpochDays = new long[aSize];
+    latestEndingEpochDays = new long[aSize];
+    for (int anIndex = 0; anIndex < aSize; anIndex++) {
+      timeExpressionIndices[anIndex] = owners.get(order[anIndex]);
+      timeExpressions[anIndex] =
+          indexedTimeExpressions[timeExpressionIndices[anIndex]];
+      leafExpressions[anIndex] = leaves.get(order[anIndex]);
+      startingEpochDays[anIndex] = leafExpressions[anIndex].startingEpochDay();
+      endingEpochDays[anIndex] = leafExpressions[anIndex].endingEpochDay();
+    }
+    indexLatestEndingEpochDays(0, aSize);
+  }
+
+  private long indexLatestEndingEpochDays(int aFromIndex, int aToIndex) {
+    if (aFromIndex >= aToIndex) {
+      return Long.MIN_VALUE;
+    }
+    int aMiddleIndex = (aFromIndex + aToIndex) >>> 1;
+    latestEndingEpochDays[aMiddleIndex] = Math.max(
+        endingEpochDays[aMiddleIndex],
+        Math.max(
+            indexLatestEndingEpochDays(aFromIndex, aMiddleIndex),
+            indexLatestEndingEpochDays(aMiddleIndex + 1, aToIndex)));
+    return latestEndingEpochDays[aMiddleIndex];
+  }
+
+  public int size() {
+    return leafExpressions.length;
+  }
+
+  /*
+   * Expressions with an occurrence starting from one date to another,
+   * both inclusive, in no particular order.
+   */
+  public List<TimeExpression> occurringFromTo(
+      LocalDate aDate,
+      LocalDate anotherDate) {
+    List<TimeExpression> occurring = new ArrayList<>();
+    collectOccurring(
+        0,
+        leafExpressions.length,
+        aDate,
+        anotherDate,
+        EpochDay.of(aDate),
+        EpochDay.of(anotherDate),
+        Collections.newSetFromMap(new IdentityHashMap<>()),
+        occurring);
+    return occurring;
+  }
+
+  private void collectOccurring(
+      int aFromIndex,
+      int aToIndex,
+      LocalDate aDate,
+      LocalDate anotherDate,
+      long anEpochDay,
+      long anotherEpochDay,
+      Set<TimeExpression> found,
+      List<TimeExpression> occurring) {
+    if (aFromIndex >= aToIndex) {
+      return;
+    }
+    int aMiddleIndex = (aFromIndex + aToIndex) >>> 1;
+    if (latestEndingEpochDays[aMiddleIndex] < anEpochDay) {
+      return;
+    }
+    collectOccurring(
+        aFromIndex, aMiddleIndex,
+        aDate, anotherDate, anEpochDay, anotherEpochDay,
+        found, occurring);
+    if (startingEpochDays[aMiddleIndex] > anotherEpochDay) {
+      return;
+    }
+    TimeExpression aTimeExpression = timeExpressions[aMiddleIndex];
+    if (endingEpochDays[aMiddleIndex] >= anEpochDay &&
+        !found.contains(aTimeExpression) &&
+        leafExpressions[aMiddleIndex].
+          cursorFromTo(aDate, anotherDate).advance()) {
+      found.add(aTimeExpression);
+      occurring.add(aTimeExpression);
+    }
+    collectOccurring(
+        aMiddleIndex + 1, aToIndex,
+        aDate, anotherDate, anEpochDay, anotherEpochDay,
+        found, occurring);
+  }
+
+  /*
+   * Expressions with an occurrence overlapping the span, each with its
+   * earliest such occurrence, in the order they were indexed.
+   */
+  public List<ExpressionConflict> conflictingWith(DateTimeSpan aDateTimeSpan) {
+    return conflictingWith(aDateTimeSpan, false);
+  }
+
+  public List<ExpressionConflict> parallelConflictingWith(
+      DateTimeSpan aDateTimeSpan) {
+    return conflictingWith(aDateTimeSpan, true);
+  }
+
+  private List<ExpressionConflict> conflictingWith(
+      DateTimeSpan aDateTimeSpan,
+      boolean inParallel) {
+    int[] candidates = new int[leafExpressions.length];
+    int numberOfCandidates = collectCandidates(
+        0,
+        leafExpressions.length,
+        EpochDay.of(aDateTimeSpan.startingDateTime().toLocalDate()) - 1,
+        EpochDay.of(aDateTimeSpan.endingDateTime().toLocalDate()),
+        candidates,
+        0);
+    IntStream anIndexStream = Arrays.stream(candidates, 0, numberOfCandidates);
+    if (inParallel) {
+      anIndexStream = anIndexStream.parallel();
+    }
+    DateTimeSpan[] occurrences = anIndexStream.
+        mapToObj(anIndex ->
+            leafExpressions[anIndex].firstOccurrenceOverlapping(aDateTimeSpan)).
+        toArray(DateTimeSpan[]::new);
+    DateTimeSpanComparator aComparator = new DateTimeSpanComparator();
+    DateTimeSpan[] firstOccurrences = new DateTimeSpan[numberOfTimeExpressions];
+    for (int aCandidate = 0; aCandidate < numberOfCandidates; aCandidate++) {
+      int anOwner = timeExpressionIndices[candidates[aCandidate]];
+      DateTimeSpan anOccurrence = occurrences[aCandidate];
+      if (anOccurrence != null && (firstOccurrences[anOwner] == null ||
+          aComparator.compare(anOccurrence, firstOccurrences[anOwner]) < 0)) {
+        firstOccurrences[anOwner] = anOccurrence;
+      }
+    }
+    List<ExpressionConflict> conflicts = new ArrayList<>();
+    for (int anOwner = 0; anOwner < numberOfTimeExpressions; anOwner++) {
+      if (firstOccurrences[anOwner] != null) {
+        conflicts.add(new ExpressionConflict(
+            indexedTimeExpressions[anOwner], firstOccurrences[anOwner]));
+      }
+    }
+    return conflicts;
+  }
+
+  /*
+   * Leaves that can start from one day to another, both inclusive, without
+   * looking at their occurrences.
+   */
+  private int collectCandidates(
+      int aFromIndex,
+      int aToIndex,
+      long anEpochDay,
+      long anotherEpochDay,
+      int[] candidates,
+      int numberOfCandidates) {
+    if (aFromIndex >= aToIndex) {
+      return numberOfCandidates;
+    }
+    int aMiddleIndex = (aFromIndex + aToIndex) >>> 1;
+    if (latestEndingEpochDays[aMiddleIndex] < anEpochDay) {
+      return numberOfCandidates;
+    }
+    numberOfCandidates = collectCandidates(
+        aFromIndex, aMiddleIndex,
+        anEpochDay, anotherEpochDay,
+        candidates, numberOfCandidates);
+    if (startingEpochDays[aMiddleIndex] > anotherEpochDay) {
+      return numberOfCandidates;
+    }
+    if (endingEpochDays[aMiddleIndex] >= anEpochDay) {
+      candidates[numberOfCandidates++] = aMiddleIndex;
+    }
+    return collectCandidates(
+        aMiddleIndex + 1, aToIndex,
+        anEpochDay, anotherEpochDay,
+        candidates, numberOfCandidates);
+  }
+}
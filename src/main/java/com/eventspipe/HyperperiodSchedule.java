@@ -0,0 +1,290 @@
+package com.eventspipe;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+
+/*
+ * A union of daily expressions compiled over its hyperperiod, the least
+ * common multiple of their periods. Between the latest start and the
+ * earliest end every member is active, so the day pattern repeats every
+ * hyperperiod days from the anchor and evaluation, seeking and iteration
+ * reduce to modulo lookups into per-day tables.
+ */
+public class HyperperiodSchedule {
+
+  public static final int MAXIMUM_HYPERPERIOD = 4096;
+
+  public static final int MAXIMUM_NUMBER_OF_SLOTS = 1 << 20;
+
+  private static final TimeSpan[] NO_TIME_SPANS = new TimeSpan[0];
+
+  private long anchorEpochDay;
+
+  private long lastEpochDay;
+
+  private int hyperperiod;
+
+  private BitSet occurringDays;
+
+  private TimeSlotTable[] sameDaySlots;
+
+  private TimeSlotTable[] nextDaySlots;
+
+  private long[][] startingMillisOfDay;
+
+  private long[][] endingMillisOfDay;
+
+  private HyperperiodSchedule(
+      long anAnchorEpochDay,
+      long aLastEpochDay,
+      int aHyperperiod,
+      TimeSpan[][] theTimeSpansByDay) {
+    anchorEpochDay = anAnchorEpochDay;
+    lastEpochDay = aLastEpochDay;
+    hyperperiod = aHyperperiod;
+    occurringDays = new BitSet(aHyperperiod);
+    sameDaySlots = new TimeSlotTable[aHyperperiod];
+    nextDaySlots = new TimeSlotTable[aHyperperiod];
+    startingMillisOfDay = new long[aHyperperiod][];
+    endingMillisOfDay = new long[aHyperperiod][];
+    TimeSlotTable noSlots = TimeSlotTable.sameDayOf(NO_TIME_SPANS);
+    for (int aDay = 0; aDay < aHyperperiod; aDay++) {
+      TimeSpan[] timeSpans = theTimeSpansByDay[aDay];
+      if (timeSpans.length == 0) {
+        sameDaySlots[aDay] = noSlots;
+        nextDaySlots[aDay] = noSlots;
+      } else {
+        occurringDays.set(aDay);
+        sameDaySlots[aDay] = TimeSlotTable.sameDayOf(timeSpans);
+        nextDaySlots[aDay] = TimeSlotTable.nextDayOf(timeSpans);
+      }
+      startingMillisOfDay[aDay] = new long[timeSpans.length];
+      endingMillisOfDay[aDay] = new long[timeSpans.length];
+      for (int anIndex = 0; anIndex < timeSpans.length; anIndex++) {
+        startingMillisOfDay[aDay][anIndex] =
+            timeSpans[anIndex].startingMillisOfOccurrence();
+        endingMillisOfDay[aDay][anIndex] =
+            timeSpans[anIndex].endingMillisOfOccurrence();
+      }
+    }
+  }
+
+  /*
+   * Answers null when the expressions are not all daily, are fewer than
+   * two, never share an active day or their hyperperiod is too long.
+   */
+  public static HyperperiodSchedule compile(
+      List<TimeExpression> theLeafExpressions) {
+    if (theLeafExpressions.size() < 2) {
+      return null;
+    }
+    long anAnchorEpochDay = Long.MIN_VALUE;
+    long aLastEpochDay = Long.MAX_VALUE;
+    long aHyperperiod = 1;
+    long aNumberOfSlots = 0;
+    for (TimeExpression aTimeExpression : theLeafExpressions) {
+      if (!(aTimeExpression instanceof DailyTimeExpression)) {
+        return null;
+      }
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aTimeExpression;
+      anAnchorEpochDay =
+          Math.max(anAnchorEpochDay, aDailyTimeExpression.startingEpochDay);
+      aLastEpochDay =
+          Math.min(aLastEpochDay, aDailyTimeExpression.endingEpochDay);
+      int aPeriod = aDailyTimeExpression.magnitudeAmount;
+      aHyperperiod = aHyperperiod / gcd(aHyperperiod, aPeriod) * aPeriod;
+      if (aHyperperiod > MAXIMUM_HYPERPERIOD) {
+        return null;
+      }
+    }
+    if (anAnchorEpochDay > aLastEpochDay) {
+      return null;
+    }
+    for (TimeExpression aTimeExpression : theLeafExpressions) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aTimeExpression;
+      aNumberOfSlots += aHyperperiod / aDailyTimeExpression.magnitudeAmount *
+          aDailyTimeExpression.timeSpans.length;
+    }
+    if (aNumberOfSlots > MAXIMUM_NUMBER_OF_SLOTS) {
+      return null;
+    }
+    int[] numbersOfTimeSpans = new int[(int) aHyperperiod];
+    for (TimeExpression aTimeExpression : theLeafExpressions) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aTimeExpression;
+      for (long aDay = firstDayOf(aDailyTimeExpression, anAnchorEpochDay);
+          aDay < aHyperperiod;
+          aDay += aDailyTimeExpression.magnitudeAmount) {
+        numbersOfTimeSpans[(int) aDay] += aDailyTimeExpression.timeSpans.length;
+      }
+    }
+    TimeSpan[][] theTimeSpansByDay = new TimeSpan[(int) aHyperperiod][];
+    for (int aDay = 0; aDay < aHyperperiod; aDay++) {
+      theTimeSpansByDay[aDay] = numbersOfTimeSpans[aDay] == 0 ?
+          NO_TIME_SPANS : new TimeSpan[numbersOfTimeSpans[aDay]];
+      numbersOfTimeSpans[aDay] = 0;
+    }
+    for (TimeExpression aTimeExpression : theLeafExpressions) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aTimeExpression;
+      TimeSpan[] timeSpans = aDailyTimeExpression.timeSpans;
+      for (long aDay = firstDayOf(aDailyTimeExpression, anAnchorEpochDay);
+          aDay < aHyperperiod;
+          aDay += aDailyTimeExpression.magnitudeAmount) {
+        System.arraycopy(
+            timeSpans, 0,
+            theTimeSpansByDay[(int) aDay], numbersOfTimeSpans[(int) aDay],
+            timeSpans.length);
+        numbersOfTimeSpans[(int) aDay] += timeSpans.length;
+      }
+    }
+    for (TimeSpan[] timeSpans : theTimeSpansByDay) {
+      Arrays.sort(timeSpans);
+    }
+    return new HyperperiodSchedule(
+        anAnchorEpochDay,
+        aLastEpochDay,
+        (int) aHyperperiod,
+        theTimeSpansByDay);
+  }
+
+  private static long firstDayOf(
+      DailyTimeExpression aDailyTimeExpression,
+      long anAnchorEpochDay) {
+    return Math.floorMod(
+        aDailyTimeExpression.startingEpochDay - anAnchorEpochDay,
+        (long) aDailyTimeExpression.magnitudeAmount);
+  }
+
+  private static long gcd(long aNumber, long anotherNumber) {
+    while (anotherNumber != 0) {
+      long aRemainder = aNumber % anotherNumber;
+      aNumber = anotherNumber;
+      anotherNumber = aRemainder;
+    }
+    return aNumber;
+  }
+
+  public boolean covers(long anEpochDay) {
+    return anchorEpochDay <= anEpochDay && anEpochDay <= lastEpochDay;
+  }
+
+  public boolean coversTimesOn(long anEpochDay) {
+    return covers(anEpochDay - 1) && covers(anEpochDay);
+  }
+
+  private int dayOf(long anEpochDay) {
+    return (int) Math.floorMod(anEpochDay - anchorEpochDay, (long) hyperperiod);
+  }
+
+  public boolean evaluate(long anEpochDay) {
+    return occurringDays.get(dayOf(anEpochDay));
+  }
+
+  /*
+   * Expects both the day and the day before it to be covered.
+   */
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return sameDaySlots[dayOf(anEpochDay)].includes(aMillisOfDay) ||
+        nextDaySlots[dayOf(anEpochDay - 1)].includes(aMillisOfDay);
+  }
+
+  public long nextOccurringEpochDayFrom(long anEpochDay) {
+    int aDay = dayOf(anEpochDay);
+    int aNextDay = occurringDays.nextSetBit(aDay);
+    if (aNextDay < 0) {
+      aNextDay = occurringDays.nextSetBit(0) + hyperperiod;
+    }
+    return anEpochDay + aNextDay - aDay;
+  }
+
+  /*
+   * Answers null when no occurrence starts after the date time on a
+   * covered day. Among occurrences starting together the one ending first
+   * wins, as with the tree walk.
+   */
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    long anEpochMillis = aDateTime.toDateTime(DateTimeZone.UTC).getMillis();
+    OccurrenceCursor aCursor = cursorFromTo(
+        Math.floorDiv(anEpochMillis, EpochDay.MILLIS_PER_DAY), lastEpochDay);
+    while (aCursor.advance()) {
+      if (aCursor.startEpochMillis() > anEpochMillis) {
+        long aStartEpochMillis = aCursor.startEpochMillis();
+        long anEndEpochMillis = aCursor.endEpochMillis();
+        while (aCursor.advance() && 
+            aCursor.startEpochMillis() == aStartEpochMillis) {
+          anEndEpochMillis = Math.min(anEndEpochMillis, aCursor.endEpochMillis());
+        }
+        return new DateTimeSpan(
+            new LocalDateTime(aStartEpochMillis, DateTimeZone.UTC),
+            new LocalDateTime(anEndEpochMillis, DateTimeZone.UTC));
+      }
+    }
+    return null;
+  }
+
+  /*
+   * Occurrences starting on covered days from one epoch day to another,
+   * both inclusive.
+   */
+  public OccurrenceCursor cursorFromTo(long anEpochDay, long anotherEpochDay) {
+    return new HyperperiodOccurrenceCursor(this, anEpochDay, anotherEpochDay);
+  }
+
+  private static class HyperperiodOccurrenceCursor implements OccurrenceCursor {
+
+    private HyperperiodSchedule schedule;
+    private long epochDay;
+    private long lastEpochDay;
+    private int day;
+    private int timeSpanIndex;
+    private long startEpochMillis;
+    private long endEpochMillis;
+
+    private HyperperiodOccurrenceCursor(
+        HyperperiodSchedule aSchedule,
+        long anEpochDay,
+        long aLastEpochDay) {
+      schedule = aSchedule;
+      epochDay = aSchedule.nextOccurringEpochDayFrom(anEpochDay);
+      lastEpochDay = aLastEpochDay;
+      day = aSchedule.dayOf(epochDay);
+      timeSpanIndex = 0;
+    }
+
+    @Override
+    public boolean advance() {
+      if (timeSpanIndex == schedule.startingMillisOfDay[day].length) {
+        epochDay = schedule.nextOccurringEpochDayFrom(epochDay + 1);
+        day = schedule.dayOf(epochDay);
+        timeSpanIndex = 0;
+      }
+      if (epochDay > lastEpochDay) {
+        return false;
+      }
+      long anEpochMillis = epochDay * EpochDay.MILLIS_PER_DAY;
+      startEpochMillis =
+          anEpochMillis + schedule.startingMillisOfDay[day][timeSpanIndex];
+      endEpochMillis =
+          anEpochMillis + schedule.endingMillisOfDay[day][timeSpanIndex];
+      timeSpanIndex++;
+      return true;
+    }
+
+    @Override
+    public long startEpochMillis() {
+      return startEpochMillis;
+    }
+
+    @Override
+    public long endEpochMillis() {
+      return endEpochMillis;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.eventspipe;
+
+import java.nio.LongBuffer;
+import java.util.BitSet;
+
+/*
+ * The parts of the occurrences of an expression that another one covers,
+ * like Mondays that are also the first of the month.
+ */
+public class IntersectionTimeExpression extends JoinTimeExpression {
+
+  public static final String TYPE_NAME = "IntersectionTimeExpression";
+
+  public IntersectionTimeExpression(
+      TimeExpression aTimeExpression,
+      TimeExpression anotherTimeExpression) {
+    super(aTimeExpression, anotherTimeExpression);
+  }
+
+  @Override
+  protected boolean keepsCoveredTime() {
+    return true;
+  }
+
+  @Override
+  protected String typeName() {
+    return "#Intersection";
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return leftExpression.evaluate(anEpochDay, aMillisOfDay) &&
+        rightExpression.evaluate(anEpochDay, aMillisOfDay);
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    BitSet matches = leftExpression.evaluateAll(theEpochMillis);
+    matches.and(rightExpression.evaluateAll(theEpochMillis));
+    return matches;
+  }
+
+  /*
+   * Parts start on days both expressions could start on, or on the day
+   * after the right one ends when its occurrence crosses midnight.
+   */
+  @Override
+  protected long startingEpochDay() {
+    return Math.max(
+        leftExpression.startingEpochDay(),
+        rightExpression.startingEpochDay());
+  }
+
+  @Override
+  protected long endingEpochDay() {
+    long anEndingEpochDay = rightExpression.endingEpochDay();
+    return Math.min(
+        leftExpression.endingEpochDay(),
+        anEndingEpochDay == Long.MAX_VALUE ? anEndingEpochDay : anEndingEpochDay + 1);
+  }
+}
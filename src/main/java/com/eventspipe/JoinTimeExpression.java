@@ -0,0 +1,272 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/*
+ * Occurrences of an expression cut by the time another one keeps busy.
+ * Neither side is materialized: both are read through their cursors in
+ * starting order by a merge join, which seeks over the gaps. Every part
+ * lies inside an occurrence of the left expression, so parts last less
+ * than a day like any other occurrence. Parts have no ordinals, hence
+ * joins are leaves read through their cursors only.
+ */
+public abstract class JoinTimeExpression extends TimeExpression {
+
+  protected TimeExpression leftExpression;
+
+  protected TimeExpression rightExpression;
+
+  public JoinTimeExpression(
+      TimeExpression aTimeExpression,
+      TimeExpression anotherTimeExpression) {
+    this.leftExpression = aTimeExpression;
+    this.rightExpression = anotherTimeExpression;
+  }
+
+  public TimeExpression leftExpression() {
+    return leftExpression;
+  }
+
+  public TimeExpression rightExpression() {
+    return rightExpression;
+  }
+
+  /*
+   * Whether parts are the time covered by the right expression, or the
+   * time it leaves free.
+   */
+  protected abstract boolean keepsCoveredTime();
+
+  protected abstract String typeName();
+
+  @Override
+  public boolean evaluate(LocalDate aDate) {
+    return occursOn(aDate);
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    return cursorFromTo(EpochDay.dateOf(anEpochDay), EpochDay.dateOf(anEpochDay)).
+        advance();
+  }
+
+  @Override
+  protected BitSet computeOccurringDaysOf(int aYear) {
+    long aFirstEpochDay = EpochDay.of(aYear, 1, 1);
+    BitSet occurringDays = new BitSet();
+    OccurrenceCursor aCursor = cursorFromTo(
+        new LocalDate(aYear, 1, 1), new LocalDate(aYear, 12, 31));
+    while (aCursor.advance()) {
+      occurringDays.set((int) (Math.floorDiv(
+          aCursor.startEpochMillis(), EpochDay.MILLIS_PER_DAY) - aFirstEpochDay));
+    }
+    return occurringDays;
+  }
+
+  @Override
+  protected List<TimeExpression> childExpressions() {
+    return Arrays.asList(leftExpression, rightExpression);
+  }
+
+  @Override
+  protected boolean hasOrdinals() {
+    return false;
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> iterator() {
+    return new OccurrenceCursorIterator(cursor());
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> iteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    return new OccurrenceCursorIterator(cursorFromTo(aDate, anotherDate));
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    List<DateTimeSpan> occurrences = new ArrayList<>();
+    iteratorFromTo(aDate, anotherDate).forEachRemaining(occurrences::add);
+    Collections.reverse(occurrences);
+    return occurrences.iterator();
+  }
+
+  @Override
+  public long countBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    long count = 0;
+    OccurrenceCursor aCursor = cursorBetween(aDateTime, anotherDateTime);
+    while (aCursor.advance()) {
+      count++;
+    }
+    return count;
+  }
+
+  @Override
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    Iterator<DateTimeSpan> occurrences = new OccurrenceCursorIterator(
+        cursorBetween(aDateTime.plusMillis(1), lastStartingDateTime()));
+    return occurrences.hasNext() ? occurrences.next() : null;
+  }
+
+  /*
+   * Looks back over windows doubling in length, down to the start.
+   */
+  @Override
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    LocalDateTime aStartingDateTime = firstStartingDateTime();
+    for (int aNumberOfDays = 1; ; aNumberOfDays *= 2) {
+      LocalDateTime aFromDateTime = aDateTime.minusDays(aNumberOfDays);
+      DateTimeSpan latestOccurrence = null;
+      Iterator<DateTimeSpan> occurrences = new OccurrenceCursorIterator(
+          cursorBetween(aFromDateTime, aDateTime.minusMillis(1)));
+      while (occurrences.hasNext()) {
+        latestOccurrence = occurrences.next();
+      }
+      if (latestOccurrence != null) {
+        return latestOccurrence;
+      }
+      if (aFromDateTime.isBefore(aStartingDateTime)) {
+        return null;
+      }
+    }
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    return cursorBetween(firstStartingDateTime(), lastStartingDateTime());
+  }
+
+  /*
+   * Bounds of the starts of the parts, with a day to spare since the
+   * bounds of some expressions ignore occurrences crossing midnight.
+   */
+  private LocalDateTime firstStartingDateTime() {
+    return leftExpression.startingDateTime().minusDays(1);
+  }
+
+  private LocalDateTime lastStartingDateTime() {
+    return leftExpression.endingDateTime().plusDays(1);
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    return cursorBetween(
+        aDate.toLocalDateTime(LocalTime.MIDNIGHT),
+        anotherDate.plusDays(1).toLocalDateTime(LocalTime.MIDNIGHT).
+            minusMillis(1));
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    return new MergeJoinOccurrenceCursor(
+        leftExpression,
+        rightExpression,
+        keepsCoveredTime(),
+        EpochDay.millisOf(aDateTime),
+        EpochDay.millisOf(anotherDateTime));
+  }
+
+  @Override
+  public int numberOfOcurringDays() {
+    if (leftExpression.numberOfOccurrences() == Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    int numberOfOcurringDays = 0;
+    long aPreviousEpochDay = Long.MIN_VALUE;
+    OccurrenceCursor aCursor = cursor();
+    while (aCursor.advance()) {
+      long anEpochDay =
+          Math.floorDiv(aCursor.startEpochMillis(), EpochDay.MILLIS_PER_DAY);
+      if (anEpochDay != aPreviousEpochDay) {
+        numberOfOcurringDays = sumOf(numberOfOcurringDays, 1);
+        aPreviousEpochDay = anEpochDay;
+      }
+    }
+    return numberOfOcurringDays;
+  }
+
+  @Override
+  public int numberOfOccurrences() {
+    if (leftExpression.numberOfOccurrences() == Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    int numberOfOccurrences = 0;
+    OccurrenceCursor aCursor = cursor();
+    while (aCursor.advance()) {
+      numberOfOccurrences = sumOf(numberOfOccurrences, 1);
+    }
+    return numberOfOccurrences;
+  }
+
+  @Override
+  public LocalDateTime startingDateTime() {
+    return leftExpression.startingDateTime();
+  }
+
+  @Override
+  public LocalDateTime endingDateTime() {
+    return leftExpression.endingDateTime();
+  }
+
+  @Override
+  protected long startingEpochDay() {
+    return leftExpression.startingEpochDay();
+  }
+
+  @Override
+  protected long endingEpochDay() {
+    return leftExpression.endingEpochDay();
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + leftExpression.hashCode();
+    result = prime * result + rightExpression.hashCode();
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    JoinTimeExpression other = (JoinTimeExpression) obj;
+    if (!leftExpression.equals(other.leftExpression))
+      return false;
+    if (!rightExpression.equals(other.rightExpression))
+      return false;
+    return true;
+  }
+
+  @Override
+  public JsonElement asJson() {
+    JsonObject timeExpressionAsJson = new JsonObject();
+    timeExpressionAsJson.addProperty("type", typeName());
+    timeExpressionAsJson.add("leftExpression", leftExpression.asJson());
+    timeExpressionAsJson.add("rightExpression", rightExpression.asJson());
+    return timeExpressionAsJson;
+  }
+}
@@ -0,0 +1,82 @@
+package com.eventspipe;
+
+/*
+ * Binary heap of the positions of several ordered sources, ordered by
+ * their current heads and then by position, so equal heads come out in
+ * the order the sources were given. Taking the first head and moving its
+ * source along costs O(log k) comparisons for k sources. Subclasses hold
+ * the sources and compare their heads.
+ */
+public abstract class MergeHeap {
+
+  private int[] heap;
+
+  private int size;
+
+  protected MergeHeap(int aNumberOfSources) {
+    heap = new int[aNumberOfSources];
+    size = 0;
+  }
+
+  /*
+   * Sources are added with their first head already read, then ordered
+   * at once by heapify.
+   */
+  protected void add(int aSource) {
+    heap[size++] = aSource;
+  }
+
+  protected void heapify() {
+    for (int anIndex = size / 2 - 1; anIndex >= 0; anIndex--) {
+      siftDown(anIndex);
+    }
+  }
+
+  protected boolean isEmpty() {
+    return size == 0;
+  }
+
+  protected int firstSource() {
+    return heap[0];
+  }
+
+  /*
+   * Called once the first source has moved to its next head, or has none
+   * left and leaves the heap.
+   */
+  protected void firstSourceMoved(boolean hasNext) {
+    if (!hasNext) {
+      heap[0] = heap[--size];
+    }
+    siftDown(0);
+  }
+
+  protected abstract int compareHeads(int aSource, int anotherSource);
+
+  private void siftDown(int anIndex) {
+    while (true) {
+      int aChild = anIndex * 2 + 1;
+      if (aChild >= size) {
+        return;
+      }
+      if (aChild + 1 < size && precedes(heap[aChild + 1], heap[aChild])) {
+        aChild++;
+      }
+      if (!precedes(heap[aChild], heap[anIndex])) {
+        return;
+      }
+      int aSource = heap[anIndex];
+      heap[anIndex] = heap[aChild];
+      heap[aChild] = aSource;
+      anIndex = aChild;
+    }
+  }
+
+  private boolean precedes(int aSource, int anotherSource) {
+    int aComparison = compareHeads(aSource, anotherSource);
+    if (aComparison != 0) {
+      return aComparison < 0;
+    }
+    return aSource < anotherSource;
+  }
+}
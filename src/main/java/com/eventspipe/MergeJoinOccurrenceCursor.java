@@ -0,0 +1,255 @@
+package com.eventspipe;
+
+import java.util.Arrays;
+
+/*
+ * Joins the occurrences of an expression with the time kept busy by
+ * another one: each occurrence is cut into the parts the other covers, or
+ * into the parts it leaves free, so every part lies inside a single
+ * occurrence. The busy time of the other expression is read once through
+ * a window of the spans still reaching the current occurrence. When either
+ * side falls more than a day behind the other, its cursor is sought past
+ * the gap instead of walking it, which is exact since occurrences last
+ * less than a day. Parts of overlapping occurrences are reordered through
+ * a small heap, released once no later occurrence can start before them.
+ */
+public class MergeJoinOccurrenceCursor implements OccurrenceCursor {
+
+  private static final long MILLIS_PER_DAY = EpochDay.MILLIS_PER_DAY;
+
+  private TimeExpression timeExpression;
+  private TimeExpression anotherTimeExpression;
+  private boolean keepsCoveredTime;
+  private long fromEpochMillis;
+  private long toEpochMillis;
+  private boolean started;
+
+  private OccurrenceCursor cursor;
+  private boolean pending;
+  private long pendingStartEpochMillis;
+  private long pendingEndEpochMillis;
+
+  private OccurrenceCursor busyCursor;
+  private boolean busyCursorExhausted;
+  private long[] busyStarts = new long[8];
+  private long[] busyEnds = new long[8];
+  private int firstBusy;
+  private int lastBusy;
+
+  private long[] partStarts = new long[8];
+  private long[] partEnds = new long[8];
+  private int numberOfParts;
+
+  private long startEpochMillis;
+  private long endEpochMillis;
+
+  /*
+   * Parts starting from one epoch millis to another, both inclusive.
+   */
+  public MergeJoinOccurrenceCursor(
+      TimeExpression aTimeExpression,
+      TimeExpression anotherTimeExpression,
+      boolean keepsCoveredTime,
+      long aFromEpochMillis,
+      long aToEpochMillis) {
+    this.timeExpression = aTimeExpression;
+    this.anotherTimeExpression = anotherTimeExpression;
+    this.keepsCoveredTime = keepsCoveredTime;
+    this.fromEpochMillis = aFromEpochMillis;
+    this.toEpochMillis = aToEpochMillis;
+    this.started = false;
+  }
+
+  @Override
+  public boolean advance() {
+    if (!started) {
+      started = true;
+      seekCursorTo(fromEpochMillis - MILLIS_PER_DAY);
+      seekBusyCursorTo(fromEpochMillis - MILLIS_PER_DAY);
+    }
+    while (true) {
+      if (numberOfParts > 0 &&
+          (!pending || partStarts[0] < pendingStartEpochMillis)) {
+        startEpochMillis = partStarts[0];
+        endEpochMillis = partEnds[0];
+        removeFirstPart();
+        if (startEpochMillis > toEpochMillis) {
+          pending = false;
+          numberOfParts = 0;
+          return false;
+        }
+        if (startEpochMillis >= fromEpochMillis) {
+          return true;
+        }
+        continue;
+      }
+      if (!pending) {
+        return false;
+      }
+      join(pendingStartEpochMillis, pendingEndEpochMillis);
+    }
+  }
+
+  private void join(long aStart, long anEnd) {
+    while (firstBusy < lastBusy && busyEnds[firstBusy] <= aStart) {
+      firstBusy++;
+    }
+    readBusyTimeUntil(aStart, anEnd);
+    if (keepsCoveredTime) {
+      if (firstBusy == lastBusy) {
+        pending = false;
+        return;
+      }
+      if (busyStarts[firstBusy] - MILLIS_PER_DAY > aStart) {
+        seekCursorTo(busyStarts[firstBusy] - MILLIS_PER_DAY);
+        return;
+      }
+    }
+    long aFreeStart = aStart;
+    for (int aBusy = firstBusy;
+        aBusy < lastBusy && busyStarts[aBusy] < anEnd;
+        aBusy++) {
+      if (keepsCoveredTime) {
+        addPart(
+            Math.max(aStart, busyStarts[aBusy]),
+            Math.min(anEnd, busyEnds[aBusy]));
+      } else {
+        if (busyStarts[aBusy] > aFreeStart) {
+          addPart(aFreeStart, busyStarts[aBusy]);
+        }
+        aFreeStart = Math.max(aFreeStart, busyEnds[aBusy]);
+      }
+    }
+    if (!keepsCoveredTime && aFreeStart < anEnd) {
+      addPart(aFreeStart, anEnd);
+    }
+    advanceCursor();
+  }
+
+  /*
+   * Reads busy time until a span starts at or after the end of the
+   * occurrence, dropping the spans that end before it starts.
+   */
+  private void readBusyTimeUntil(long aStart, long anEnd) {
+    while (!busyCursorExhausted &&
+        (firstBusy == lastBusy || busyStarts[lastBusy - 1] < anEnd)) {
+      if (!busyCursor.advance()) {
+        busyCursorExhausted = true;
+        return;
+      }
+      if (busyCursor.endEpochMillis() <= aStart) {
+        if (busyCursor.endEpochMillis() <= aStart - MILLIS_PER_DAY) {
+          seekBusyCursorTo(aStart);
+        }
+        continue;
+      }
+      addBusy(busyCursor.startEpochMillis(), busyCursor.endEpochMillis());
+    }
+  }
+
+  private void seekCursorTo(long anEpochMillis) {
+    cursor = timeExpression.cursorBetween(
+        EpochDay.dateTimeOf(anEpochMillis),
+        EpochDay.dateTimeOf(toEpochMillis));
+    advanceCursor();
+  }
+
+  private void advanceCursor() {
+    pending = cursor.advance();
+    if (pending) {
+      pendingStartEpochMillis = cursor.startEpochMillis();
+      pendingEndEpochMillis = cursor.endEpochMillis();
+    }
+  }
+
+  /*
+   * Occurrences starting a day or more before an occurrence end before it,
+   * so the busy time reaching occurrences from the given epoch millis is
+   * read from the day before.
+   */
+  private void seekBusyCursorTo(long anEpochMillis) {
+    busyCursor = anotherTimeExpression.busyCursorBetween(
+        EpochDay.dateTimeOf(anEpochMillis - MILLIS_PER_DAY),
+        EpochDay.dateTimeOf(toEpochMillis + MILLIS_PER_DAY));
+    busyCursorExhausted = false;
+  }
+
+  private void addBusy(long aStart, long anEnd) {
+    if (lastBusy == busyStarts.length) {
+      int aNumberOfBusy = lastBusy - firstBusy;
+      if (aNumberOfBusy * 2 > busyStarts.length) {
+        busyStarts = Arrays.copyOf(busyStarts, busyStarts.length * 2);
+        busyEnds = Arrays.copyOf(busyEnds, busyEnds.length * 2);
+      }
+      System.arraycopy(busyStarts, firstBusy, busyStarts, 0, aNumberOfBusy);
+      System.arraycopy(busyEnds, firstBusy, busyEnds, 0, aNumberOfBusy);
+      firstBusy = 0;
+      lastBusy = aNumberOfBusy;
+    }
+    busyStarts[lastBusy] = aStart;
+    busyEnds[lastBusy] = anEnd;
+    lastBusy++;
+  }
+
+  private void addPart(long aStart, long anEnd) {
+    if (numberOfParts == partStarts.length) {
+      partStarts = Arrays.copyOf(partStarts, numberOfParts * 2);
+      partEnds = Arrays.copyOf(partEnds, numberOfParts * 2);
+    }
+    int aPosition = numberOfParts++;
+    while (aPosition > 0 &&
+        precedes(aStart, anEnd, (aPosition - 1) / 2)) {
+      partStarts[aPosition] = partStarts[(aPosition - 1) / 2];
+      partEnds[aPosition] = partEnds[(aPosition - 1) / 2];
+      aPosition = (aPosition - 1) / 2;
+    }
+    partStarts[aPosition] = aStart;
+    partEnds[aPosition] = anEnd;
+  }
+
+  private void removeFirstPart() {
+    long aStart = partStarts[--numberOfParts];
+    long anEnd = partEnds[numberOfParts];
+    int aPosition = 0;
+    while (true) {
+      int aChild = aPosition * 2 + 1;
+      if (aChild >= numberOfParts) {
+        break;
+      }
+      if (aChild + 1 < numberOfParts &&
+          precedes(partStarts[aChild + 1], partEnds[aChild + 1], aChild)) {
+        aChild++;
+      }
+      if (!precedes(partStarts[aChild], partEnds[aChild], aStart, anEnd)) {
+        break;
+      }
+      partStarts[aPosition] = partStarts[aChild];
+      partEnds[aPosition] = partEnds[aChild];
+      aPosition = aChild;
+    }
+    partStarts[aPosition] = aStart;
+    partEnds[aPosition] = anEnd;
+  }
+
+  private boolean precedes(long aStart, long anEnd, int aPosition) {
+    return precedes(aStart, anEnd, partStarts[aPosition], partEnds[aPosition]);
+  }
+
+  private static boolean precedes(
+      long aStart,
+      long anEnd,
+      long anotherStart,
+      long anotherEnd) {
+    return aStart < anotherStart || aStart == anotherStart && anEnd < anotherEnd;
+  }
+
+  @Override
+  public long startEpochMillis() {
+    return startEpochMillis;
+  }
+
+  @Override
+  public long endEpochMillis() {
+    return endEpochMillis;
+  }
+}
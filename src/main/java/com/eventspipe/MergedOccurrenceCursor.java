@@ -0,0 +1,60 @@
+package com.eventspipe;
+
+import java.util.List;
+
+public class MergedOccurrenceCursor extends MergeHeap implements OccurrenceCursor {
+
+  private OccurrenceCursor[] cursors;
+  private boolean started;
+
+  public MergedOccurrenceCursor(OccurrenceCursor... theCursors) {
+    super(theCursors.length);
+    cursors = theCursors;
+    started = false;
+  }
+
+  public MergedOccurrenceCursor(List<OccurrenceCursor> theCursors) {
+    this(theCursors.toArray(new OccurrenceCursor[theCursors.size()]));
+  }
+
+  @Override
+  public boolean advance() {
+    if (!started) {
+      started = true;
+      for (int anIndex = 0; anIndex < cursors.length; anIndex++) {
+        if (cursors[anIndex].advance()) {
+          add(anIndex);
+        }
+      }
+      heapify();
+    } else if (!isEmpty()) {
+      firstSourceMoved(cursors[firstSource()].advance());
+    }
+    return !isEmpty();
+  }
+
+  @Override
+  protected int compareHeads(int aCursorIndex, int anotherCursorIndex) {
+    return Long.compare(
+        cursors[aCursorIndex].startEpochMillis(),
+        cursors[anotherCursorIndex].startEpochMillis());
+  }
+
+  /*
+   * The position, among the merged cursors, of the one at the current
+   * occurrence.
+   */
+  public int cursorIndex() {
+    return firstSource();
+  }
+
+  @Override
+  public long startEpochMillis() {
+    return cursors[firstSource()].startEpochMillis();
+  }
+
+  @Override
+  public long endEpochMillis() {
+    return cursors[firstSource()].endEpochMillis();
+  }
+}
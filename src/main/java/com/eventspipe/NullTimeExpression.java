@@ -1,7 +1,10 @@
 package com.eventspipe;
 
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
@@ -15,6 +18,21 @@ public class NullTimeExpression extends TimeExpression {
     return false;
   }
 
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    return false;
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return false;
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    return new BitSet();
+  }
+
   @Override
   public Iterator<DateTimeSpan> iterator() {
     return new ArrayList<DateTimeSpan>().iterator();
@@ -27,6 +45,32 @@ public class NullTimeExpression extends TimeExpression {
     return new ArrayList<DateTimeSpan>().iterator();
   }
   
+  @Override
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate,
+      LocalDate anotherDate) {
+    return new ArrayList<DateTimeSpan>().iterator();
+  }
+  
+  @Override
+  public OccurrenceCursor cursor() {
+    return new MergedOccurrenceCursor();
+  }
+  
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate,
+      LocalDate anotherDate) {
+    return new MergedOccurrenceCursor();
+  }
+  
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    return new MergedOccurrenceCursor();
+  }
+  
   @Override
   public int numberOfOcurringDays() {
     return 0;
@@ -37,6 +81,30 @@ public class NullTimeExpression extends TimeExpression {
     return 0;
   }
   
+  @Override
+  public long countBetween(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    return 0;
+  }
+  
+  @Override
+  public Stream<DateTimeSpan> occurrences(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    return Stream.empty();
+  }
+  
+  @Override
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    return null;
+  }
+  
+  @Override
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    return null;
+  }
+  
   @Override
   public boolean endsAfter(LocalDate aDate) {
     throw new UnsupportedOperationException();
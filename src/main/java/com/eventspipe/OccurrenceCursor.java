@@ -0,0 +1,26 @@
+package com.eventspipe;
+
+/*
+ * Walks occurrences without allocating. Epoch millis are the local date
+ * times read as if they were UTC, so no time zone is involved. fill writes
+ * from the current position until the arrays are full, so consecutive
+ * calls resume where the previous one stopped.
+ */
+public interface OccurrenceCursor {
+
+  boolean advance();
+
+  long startEpochMillis();
+
+  long endEpochMillis();
+
+  default int fill(long[] starts, long[] ends, int anOffset) {
+    int anIndex = anOffset;
+    while (anIndex < starts.length && advance()) {
+      starts[anIndex] = startEpochMillis();
+      ends[anIndex] = endEpochMillis();
+      anIndex++;
+    }
+    return anIndex - anOffset;
+  }
+}
@@ -0,0 +1,41 @@
+package com.eventspipe;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class OccurrenceCursorIterator implements Iterator<DateTimeSpan> {
+
+  private OccurrenceCursor cursor;
+  private boolean advanced;
+  private boolean hasNext;
+
+  public OccurrenceCursorIterator(OccurrenceCursor aCursor) {
+    cursor = aCursor;
+    advanced = false;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!advanced) {
+      hasNext = cursor.advance();
+      advanced = true;
+    }
+    return hasNext;
+  }
+
+  @Override
+  public DateTimeSpan next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    advanced = false;
+    return new DateTimeSpan(
+        EpochDay.dateTimeOf(cursor.startEpochMillis()),
+        EpochDay.dateTimeOf(cursor.endEpochMillis()));
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+}
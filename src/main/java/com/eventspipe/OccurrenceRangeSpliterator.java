@@ -0,0 +1,76 @@
+package com.eventspipe;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ * Spliterator over the occurrences of an expression starting within a
+ * range of epoch millis, both inclusive. It splits the range itself in
+ * halves, so every part merges the leaves through their cursors over its
+ * own starts only, and the parts laid end to end keep the starting order
+ * without sorting. Parts shorter than a day are not split any further.
+ */
+public class OccurrenceRangeSpliterator implements Spliterator<DateTimeSpan> {
+
+  private TimeExpression timeExpression;
+
+  private long fromEpochMillis;
+
+  private long toEpochMillis;
+
+  private OccurrenceCursorIterator occurrences;
+
+  public OccurrenceRangeSpliterator(
+      TimeExpression aTimeExpression,
+      long aFromEpochMillis,
+      long aToEpochMillis) {
+    timeExpression = aTimeExpression;
+    fromEpochMillis = aFromEpochMillis;
+    toEpochMillis = aToEpochMillis;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super DateTimeSpan> anAction) {
+    if (occurrences == null) {
+      if (toEpochMillis < fromEpochMillis) {
+        return false;
+      }
+      occurrences = new OccurrenceCursorIterator(timeExpression.cursorBetween(
+          EpochDay.dateTimeOf(fromEpochMillis),
+          EpochDay.dateTimeOf(toEpochMillis)));
+    }
+    if (!occurrences.hasNext()) {
+      return false;
+    }
+    anAction.accept(occurrences.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<DateTimeSpan> trySplit() {
+    if (occurrences != null ||
+        toEpochMillis - fromEpochMillis < 2 * EpochDay.MILLIS_PER_DAY) {
+      return null;
+    }
+    long aMiddle = fromEpochMillis + (toEpochMillis - fromEpochMillis) / 2;
+    Spliterator<DateTimeSpan> aPrefix =
+        new OccurrenceRangeSpliterator(timeExpression, fromEpochMillis, aMiddle);
+    fromEpochMillis = aMiddle + 1;
+    return aPrefix;
+  }
+
+  /*
+   * Counting may have to walk the occurrences of leaves without ordinals,
+   * so the estimate is one occurrence per day.
+   */
+  @Override
+  public long estimateSize() {
+    return Math.max(0,
+        (toEpochMillis - fromEpochMillis) / EpochDay.MILLIS_PER_DAY + 1);
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+}
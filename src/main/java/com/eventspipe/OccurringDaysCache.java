@@ -0,0 +1,44 @@
+package com.eventspipe;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Occurring days of the most recently used years, one bit per day of
+ * the year, evicting the least recently used year once full. Valid only
+ * while its expression keeps the version it was created at.
+ */
+public class OccurringDaysCache {
+
+  public static final int MAXIMUM_NUMBER_OF_YEARS = 8;
+
+  private long version;
+
+  private Map<Integer, BitSet> occurringDaysByYear;
+
+  @SuppressWarnings("serial")
+  public OccurringDaysCache(long aVersion) {
+    version = aVersion;
+    occurringDaysByYear =
+        new LinkedHashMap<Integer, BitSet>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(
+              Map.Entry<Integer, BitSet> anEldestEntry) {
+            return size() > MAXIMUM_NUMBER_OF_YEARS;
+          }
+        };
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public synchronized BitSet occurringDaysOf(int aYear) {
+    return occurringDaysByYear.get(aYear);
+  }
+
+  public synchronized void occurringDaysOfAre(int aYear, BitSet theDays) {
+    occurringDaysByYear.put(aYear, theDays);
+  }
+}
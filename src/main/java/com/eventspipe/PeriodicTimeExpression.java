@@ -12,6 +12,12 @@ public abstract class PeriodicTimeExpression extends TimeExpression {
 
   protected TimeExpressionDuration duration;
 
+  protected long startingEpochDay;
+
+  protected long endingEpochDay;
+
+  protected int magnitudeAmount;
+
   public PeriodicTimeExpression(
       BaseSingleFieldPeriod aMagnitude,
       TimeExpressionDuration theDuration,
@@ -25,30 +31,88 @@ public abstract class PeriodicTimeExpression extends TimeExpression {
           assertTrue();
     this.magnitude = aMagnitude;
     this.duration = theDuration;
+    this.startingEpochDay = EpochDay.of(theDuration.startingDate());
+    this.endingEpochDay = endingEpochDayOf(theDuration);
+    this.magnitudeAmount = aMagnitude.getValue(0);
   }
   
+  private static long endingEpochDayOf(TimeExpressionDuration aDuration) {
+    if (aDuration.neverEnds()) {
+      return Long.MAX_VALUE;
+    }
+    return EpochDay.of(aDuration.endingDate());
+  }
+
   @Override
   public boolean evaluate(LocalDate aDate) {
-    boolean matches = duration.includes(aDate);
-    matches &= this.repeatsEvery(aDate, this.magnitude);
-    matches &= this.doEvaluate(aDate);
-    return matches;
+    return evaluate(EpochDay.of(aDate));
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    return startingEpochDay <= anEpochDay && 
+        anEpochDay <= endingEpochDay && 
+        unitsSinceStart(anEpochDay) % magnitudeAmount == 0 && 
+        doEvaluate(anEpochDay);
+  }
+
+  protected abstract long unitsSinceStart(long anEpochDay);
+
+  protected boolean doEvaluate(long anEpochDay) {
+    return true;
   }
 
-  private boolean repeatsEvery(
-      LocalDate aDate,
-      BaseSingleFieldPeriod aMagnitude) {
+  protected LocalDate repetitionAt(int aRepetition) {
+    return this.duration.startingDate().withFieldAdded(
+        this.magnitude.getFieldType(0),
+        this.magnitude.getValue(0) * aRepetition);
+  }
+
+  protected int repetitionOf(LocalDate aDate) {
     int difference = 
         TimeDifferenceCalculation.
           differenceBetween(
             magnitude.getClass(), 
-            aDate, 
-            this.duration.startingDate());
-    return difference % this.magnitude.getValue(0) == 0;
+            this.duration.startingDate(),
+            aDate);
+    return difference / this.magnitude.getValue(0);
   }
 
-  public boolean doEvaluate(LocalDate aDate) {
-    return true;
+  protected int firstRepetitionFrom(LocalDate aDate) {
+    if (!aDate.isAfter(this.duration.startingDate())) {
+      return 0;
+    }
+    int aRepetition = repetitionOf(aDate);
+    if (repetitionAt(aRepetition).isBefore(aDate)) {
+      aRepetition++;
+    }
+    return aRepetition;
+  }
+
+  protected int lastRepetitionUntil(LocalDate aDate) {
+    if (aDate.isBefore(this.duration.startingDate())) {
+      return -1;
+    }
+    int aRepetition = repetitionOf(aDate);
+    if (repetitionAt(aRepetition).isAfter(aDate)) {
+      aRepetition--;
+    }
+    return aRepetition;
+  }
+
+  protected long epochDayAt(int aRepetition) {
+    return EpochDay.of(repetitionAt(aRepetition));
+  }
+
+  public LocalDate repetitionOnOrAfter(LocalDate aDate) {
+    return repetitionAt(firstRepetitionFrom(aDate));
+  }
+
+  public LocalDate repetitionAfter(LocalDate aDate) {
+    if (aDate.isBefore(this.duration.startingDate())) {
+      return this.duration.startingDate();
+    }
+    return repetitionAt(repetitionOf(aDate) + 1);
   }
 
   @Override
@@ -65,8 +129,63 @@ public abstract class PeriodicTimeExpression extends TimeExpression {
   }
 
   @Override
-  public TimeExpression and(TimeExpression anotherTimeExpression) {
-    return new BinaryTimeExpression(this, anotherTimeExpression);
+  public DateTimeSpan occurrenceAt(long anOrdinal) {
+    if (anOrdinal < 0) {
+      throw TimeExpressionException.ORDINAL_INVALID;
+    }
+    LocalDate aRepetitionDate = 
+        repetitionAt((int) (anOrdinal / timeSpans.length));
+    if (!duration.includes(aRepetitionDate)) {
+      throw TimeExpressionException.ORDINAL_INVALID;
+    }
+    return timeSpans[(int) (anOrdinal % timeSpans.length)].
+        on(aRepetitionDate);
+  }
+
+  @Override
+  public long ordinalOf(LocalDateTime aDateTime) {
+    LocalDate aDate = aDateTime.toLocalDate();
+    int aRepetition = firstRepetitionFrom(aDate);
+    int aTimeSpanIndex = 0;
+    if (repetitionAt(aRepetition).isEqual(aDate)) {
+      aTimeSpanIndex = timeSpanIndexFrom(aDateTime.toLocalTime());
+    }
+    return (long) aRepetition * timeSpans.length + aTimeSpanIndex;
+  }
+
+  @Override
+  protected long ordinalLimit() {
+    return (long) (lastRepetitionUntil(duration.endingDate()) + 1) * 
+        timeSpans.length;
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    return cursorFromTo(startingDate(), endingDate());
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    LocalDate anEndingDate = duration.endingDate();
+    if (anotherDate.isBefore(anEndingDate)) {
+      anEndingDate = anotherDate;
+    }
+    return new TimeExpressionOccurrenceCursor(
+        timeSpans, 
+        this::epochDayAt, 
+        (long) firstRepetitionFrom(aDate) * timeSpans.length, 
+        (long) (lastRepetitionUntil(anEndingDate) + 1) * timeSpans.length);
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    return new TimeExpressionOccurrenceCursor(
+        timeSpans, 
+        this::epochDayAt, 
+        ordinalOf(aDateTime), 
+        ordinalLimitUntil(anotherDateTime));
   }
 
   public DateSpan dateSpan() {
@@ -77,6 +196,16 @@ public abstract class PeriodicTimeExpression extends TimeExpression {
     return this.magnitude;
   }
 
+  @Override
+  protected long startingEpochDay() {
+    return startingEpochDay;
+  }
+
+  @Override
+  protected long endingEpochDay() {
+    return endingEpochDay;
+  }
+
   @Override
   public LocalDateTime endingDateTime() {
     return duration.endingDate().toLocalDateTime(
@@ -96,6 +225,8 @@ public abstract class PeriodicTimeExpression extends TimeExpression {
         DateSpan.fromTo(
           this.dateSpan().startingDate(),
           anEndingDateTime.toLocalDate()));
+    endingEpochDay = endingEpochDayOf(duration);
+    changed();
   }
   
   public int numberOfOcurringDays() {
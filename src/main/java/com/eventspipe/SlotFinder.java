@@ -0,0 +1,151 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.time.Duration;
+import org.joda.time.LocalDateTime;
+
+/*
+ * Finds slots of a given length inside a window, packed back to back from
+ * the start of every stretch of time that qualifies. Free slots avoid the
+ * occurrences of every participant: their cursors are merged and
+ * coalesced into busy time, and the gaps between it are free. Available
+ * slots fall inside an occurrence of every participant: each one's
+ * coalesced occurrences are merged by start, and whenever all of them are
+ * running at once, everyone is available until the earliest one ends.
+ * Occurrences last less than a day, so cursors are sought from the day
+ * before the window and nothing is collected along the way.
+ */
+public class SlotFinder {
+
+  private TimeExpression[] timeExpressions;
+
+  public SlotFinder(List<? extends TimeExpression> theTimeExpressions) {
+    timeExpressions = theTimeExpressions.toArray(
+        new TimeExpression[theTimeExpressions.size()]);
+  }
+
+  public List<DateTimeSpan> firstFreeSlots(
+      Duration aLength,
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime,
+      int aNumberOfSlots) {
+    long aWindowEnd = EpochDay.millisOf(anotherDateTime);
+    OccurrenceCursor[] cursors = new OccurrenceCursor[timeExpressions.length];
+    for (int anIndex = 0; anIndex < timeExpressions.length; anIndex++) {
+      cursors[anIndex] = timeExpressions[anIndex].cursorBetween(
+          aDateTime.minusDays(1), anotherDateTime);
+    }
+    OccurrenceCursor aBusyCursor = new CoalescingOccurrenceCursor(
+        new MergedOccurrenceCursor(cursors));
+    List<DateTimeSpan> slots = new ArrayList<>();
+    long aFreeStart = EpochDay.millisOf(aDateTime);
+    while (slots.size() < aNumberOfSlots && aBusyCursor.advance()) {
+      addSlots(
+          slots,
+          aLength.getMillis(),
+          aFreeStart,
+          Math.min(aBusyCursor.startEpochMillis(), aWindowEnd),
+          aNumberOfSlots);
+      aFreeStart = Math.max(aFreeStart, aBusyCursor.endEpochMillis());
+    }
+    addSlots(slots, aLength.getMillis(), aFreeStart, aWindowEnd, aNumberOfSlots);
+    return slots;
+  }
+
+  public List<DateTimeSpan> firstAvailableSlots(
+      Duration aLength,
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime,
+      int aNumberOfSlots) {
+    long aWindowStart = EpochDay.millisOf(aDateTime);
+    long aWindowEnd = EpochDay.millisOf(anotherDateTime);
+    OccurrenceCursor[] cursors = new OccurrenceCursor[timeExpressions.length];
+    for (int anIndex = 0; anIndex < timeExpressions.length; anIndex++) {
+      cursors[anIndex] = timeExpressions[anIndex].busyCursorBetween(
+          aDateTime.minusDays(1), anotherDateTime);
+    }
+    MergedOccurrenceCursor aCursor = new MergedOccurrenceCursor(cursors);
+    RunningEnds running = new RunningEnds(timeExpressions.length);
+    List<DateTimeSpan> slots = new ArrayList<>();
+    while (slots.size() < aNumberOfSlots && aCursor.advance()) {
+      running.removeEndingBy(aCursor.startEpochMillis());
+      running.add(aCursor.endEpochMillis());
+      if (running.size == timeExpressions.length) {
+        addSlots(
+            slots,
+            aLength.getMillis(),
+            Math.max(aCursor.startEpochMillis(), aWindowStart),
+            Math.min(running.ends[0], aWindowEnd),
+            aNumberOfSlots);
+      }
+    }
+    return slots;
+  }
+
+  private static void addSlots(
+      List<DateTimeSpan> slots,
+      long aLength,
+      long aStart,
+      long anEnd,
+      int aNumberOfSlots) {
+    for (long aSlotStart = aStart;
+        aSlotStart + aLength <= anEnd && slots.size() < aNumberOfSlots;
+        aSlotStart += aLength) {
+      slots.add(new DateTimeSpan(
+          EpochDay.dateTimeOf(aSlotStart),
+          EpochDay.dateTimeOf(aSlotStart + aLength)));
+    }
+  }
+
+  /*
+   * A binary heap of the ends of the occurrences still running. Each
+   * participant has at most one, since its own occurrences are coalesced.
+   */
+  private static class RunningEnds {
+
+    private long[] ends;
+    private int size;
+
+    private RunningEnds(int aCapacity) {
+      ends = new long[Math.max(1, aCapacity)];
+      size = 0;
+    }
+
+    private void add(long anEnd) {
+      if (size == ends.length) {
+        ends = Arrays.copyOf(ends, size * 2);
+      }
+      int aPosition = size++;
+      while (aPosition > 0 && anEnd < ends[(aPosition - 1) / 2]) {
+        ends[aPosition] = ends[(aPosition - 1) / 2];
+        aPosition = (aPosition - 1) / 2;
+      }
+      ends[aPosition] = anEnd;
+    }
+
+    private void removeEndingBy(long aDateTime) {
+      while (size > 0 && ends[0] <= aDateTime) {
+        long anEnd = ends[--size];
+        int aPosition = 0;
+        while (true) {
+          int aChild = aPosition * 2 + 1;
+          if (aChild >= size) {
+            break;
+          }
+          if (aChild + 1 < size && ends[aChild + 1] < ends[aChild]) {
+            aChild++;
+          }
+          if (anEnd <= ends[aChild]) {
+            break;
+          }
+          ends[aPosition] = ends[aChild];
+          aPosition = aChild;
+        }
+        ends[aPosition] = anEnd;
+      }
+    }
+  }
+}
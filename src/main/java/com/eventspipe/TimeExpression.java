@@ -1,11 +1,16 @@
 package com.eventspipe;
 
 import java.util.ArrayList;
+import java.lang.ref.WeakReference;
+import java.nio.LongBuffer;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
@@ -35,6 +40,28 @@ public abstract class TimeExpression {
 
   protected TimeSpan[] timeSpans;
 
+  private TimeSlotTable sameDaySlots;
+
+  private TimeSlotTable nextDaySlots;
+
+  /*
+   * Moved whenever this expression or one below it changes its bounds or
+   * time spans. Composites start watching their children the first time
+   * their version is read, and children hold them weakly so a composite
+   * no longer in use can still be collected.
+   */
+  private volatile long version;
+
+  private volatile boolean watchingChildren;
+
+  private List<WeakReference<TimeExpression>> watchers = new ArrayList<>();
+
+  private volatile OccurringDaysCache occurringDaysCache;
+
+  private volatile HyperperiodSchedule hyperperiodSchedule;
+
+  private volatile long hyperperiodScheduleVersion = -1;
+
   public TimeExpression(TimeSpan... aListOfTimeSpans) {
     List<TimeSpan> timePeriodsList = 
         Arrays.asList(aListOfTimeSpans);
@@ -42,6 +69,7 @@ public abstract class TimeExpression {
       Collections.sort(timePeriodsList);
     }
     timeSpans = (TimeSpan[]) timePeriodsList.toArray();
+    indexTimeSpans();
   }
 
   public TimeExpression() {
@@ -326,28 +354,395 @@ public abstract class TimeExpression {
   }
 
   public static TimeExpression from(List<TimeExpression> timeExpressions) {
-    TimeExpression aTimeExpression = NullTimeExpression.INSTANCE;
-    for (TimeExpression anotherTimeExpression : timeExpressions) {
-      aTimeExpression = aTimeExpression.and(anotherTimeExpression);
+    if (timeExpressions.isEmpty()) {
+      return NullTimeExpression.INSTANCE;
+    }
+    if (timeExpressions.size() == 1) {
+      return timeExpressions.get(0);
     }
-    return aTimeExpression;
+    return new UnionTimeExpression(timeExpressions);
   }
 
   public boolean evaluate(LocalDateTime aDateTime) {
-    boolean matches = this.evaluate(aDateTime.toLocalDate());
-    matches &= within(aDateTime.toLocalTime());
-    return matches;
+    return evaluate(
+        EpochDay.of(
+            aDateTime.getYear(), 
+            aDateTime.getMonthOfYear(), 
+            aDateTime.getDayOfMonth()), 
+        aDateTime.getMillisOfDay());
   }
 
   public abstract boolean evaluate(LocalDate aDate);
 
+  public boolean evaluate(long anEpochDay) {
+    throw new UnsupportedOperationException();
+  }
+
+  protected boolean occursOn(LocalDate aDate) {
+    return occurringDaysOf(aDate.getYear()).get(aDate.getDayOfYear() - 1);
+  }
+
+  /*
+   * Leaves compute their days directly, since evaluating one day of a leaf
+   * costs no more than looking it up.
+   */
+  protected BitSet occurringDaysOf(int aYear) {
+    if (childExpressions().isEmpty()) {
+      return computeOccurringDaysOf(aYear);
+    }
+    long aVersion = version();
+    OccurringDaysCache aCache = occurringDaysCache;
+    if (aCache == null || aCache.version() != aVersion) {
+      aCache = new OccurringDaysCache(aVersion);
+      occurringDaysCache = aCache;
+    }
+    BitSet occurringDays = aCache.occurringDaysOf(aYear);
+    if (occurringDays == null) {
+      occurringDays = computeOccurringDaysOf(aYear);
+      aCache.occurringDaysOfAre(aYear, occurringDays);
+    }
+    return occurringDays;
+  }
+
+  protected BitSet computeOccurringDaysOf(int aYear) {
+    long aFirstEpochDay = EpochDay.of(aYear, 1, 1);
+    int aNumberOfDays = EpochDay.isLeapYear(aYear) ? 366 : 365;
+    BitSet occurringDays = new BitSet(aNumberOfDays);
+    for (int aDayOfYear = 0; aDayOfYear < aNumberOfDays; aDayOfYear++) {
+      if (evaluate(aFirstEpochDay + aDayOfYear)) {
+        occurringDays.set(aDayOfYear);
+      }
+    }
+    return occurringDays;
+  }
+
+  protected static BitSet occurringDaysOf(
+      List<? extends TimeExpression> timeExpressions, 
+      int aYear) {
+    BitSet occurringDays = new BitSet();
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      occurringDays.or(aTimeExpression.occurringDaysOf(aYear));
+    }
+    return occurringDays;
+  }
+
+  /*
+   * The expressions this one is directly built from, empty for leaves.
+   */
+  protected List<TimeExpression> childExpressions() {
+    return Collections.emptyList();
+  }
+
+  protected long version() {
+    if (!watchingChildren) {
+      watchChildren();
+    }
+    return version;
+  }
+
+  private synchronized void watchChildren() {
+    if (!watchingChildren) {
+      for (TimeExpression aChildExpression : childExpressions()) {
+        aChildExpression.watchedBy(this);
+      }
+      watchingChildren = true;
+    }
+  }
+
+  /*
+   * A watched composite watches its own children in turn, so changes
+   * reach every composite above the expression that changed.
+   */
+  private void watchedBy(TimeExpression aWatcher) {
+    synchronized (this) {
+      if (Integer.bitCount(watchers.size()) == 1) {
+        watchers.removeIf(aReference -> aReference.get() == null);
+      }
+      watchers.add(new WeakReference<>(aWatcher));
+    }
+    version();
+  }
+
+  protected void changed() {
+    List<WeakReference<TimeExpression>> theWatchers;
+    synchronized (this) {
+      version++;
+      theWatchers = new ArrayList<>(watchers);
+    }
+    for (WeakReference<TimeExpression> aReference : theWatchers) {
+      TimeExpression aWatcher = aReference.get();
+      if (aWatcher != null) {
+        aWatcher.changed();
+      }
+    }
+  }
+
+  /*
+   * Compiled lazily from the leaf expressions, null when they cannot be
+   * compiled and the tree has to be walked instead. Compiled again once
+   * one of its leaves changes, since it copies their bounds.
+   */
+  protected HyperperiodSchedule hyperperiodSchedule() {
+    long aVersion = version();
+    if (hyperperiodScheduleVersion != aVersion) {
+      hyperperiodSchedule = HyperperiodSchedule.compile(leafExpressions());
+      hyperperiodScheduleVersion = aVersion;
+    }
+    return hyperperiodSchedule;
+  }
+
+  /*
+   * Time spans crossing midnight match after midnight only when the
+   * previous day occurs, since that is the day they start on.
+   */
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    return sameDaySlots.includes(aMillisOfDay) && evaluate(anEpochDay) || 
+        nextDaySlots.includes(aMillisOfDay) && evaluate(anEpochDay - 1);
+  }
+
+  public BitSet evaluateAll(long[] theEpochMillis) {
+    return evaluateAll(LongBuffer.wrap(theEpochMillis));
+  }
+
+  /*
+   * Evaluates every timestamp between the buffer position and its limit,
+   * read as local date times in UTC like the occurrence cursors, without
+   * moving the position. Days are evaluated once per run of timestamps
+   * falling on the same day, which is the common case for sorted logs.
+   */
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    int aPosition = theEpochMillis.position();
+    int aSize = theEpochMillis.remaining();
+    BitSet matches = new BitSet(aSize);
+    long aCachedEpochDay = Long.MIN_VALUE;
+    boolean occursOnCachedDay = false;
+    boolean occursOnDayBefore = false;
+    for (int anIndex = 0; anIndex < aSize; anIndex++) {
+      long anEpochMillis = theEpochMillis.get(aPosition + anIndex);
+      long anEpochDay = Math.floorDiv(anEpochMillis, EpochDay.MILLIS_PER_DAY);
+      int aMillisOfDay = 
+          (int) (anEpochMillis - anEpochDay * EpochDay.MILLIS_PER_DAY);
+      if (anEpochDay != aCachedEpochDay) {
+        occursOnDayBefore = anEpochDay == aCachedEpochDay + 1 ? 
+            occursOnCachedDay : evaluate(anEpochDay - 1);
+        occursOnCachedDay = evaluate(anEpochDay);
+        aCachedEpochDay = anEpochDay;
+      }
+      if (occursOnCachedDay && sameDaySlots.includes(aMillisOfDay) || 
+          occursOnDayBefore && nextDaySlots.includes(aMillisOfDay)) {
+        matches.set(anIndex);
+      }
+    }
+    return matches;
+  }
+
+  protected static BitSet evaluateAll(
+      List<? extends TimeExpression> timeExpressions, 
+      LongBuffer theEpochMillis) {
+    BitSet matches = new BitSet(theEpochMillis.remaining());
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      matches.or(aTimeExpression.evaluateAll(theEpochMillis));
+    }
+    return matches;
+  }
+
   public abstract Iterator<DateTimeSpan> iterator();
   
   public abstract Iterator<DateTimeSpan> iteratorFromTo(
       LocalDate aDate, LocalDate anotherDate);
 
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    return new TimeExpressionDescendingIterator(
+        this,
+        ordinalOf(aDate.toLocalDateTime(LocalTime.MIDNIGHT)),
+        Math.min(
+            ordinalOf(anotherDate.plusDays(1).toLocalDateTime(LocalTime.MIDNIGHT)),
+            ordinalLimit()));
+  }
+
+  public DateTimeSpan occurrenceAt(long anOrdinal) {
+    throw new UnsupportedOperationException();
+  }
+
+  public long ordinalOf(LocalDateTime aDateTime) {
+    throw new UnsupportedOperationException();
+  }
+
+  protected long ordinalLimit() {
+    throw new UnsupportedOperationException();
+  }
+
+  public long countBetween(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    return Math.max(0, 
+        ordinalLimitUntil(anotherDateTime) - ordinalOf(aDateTime));
+  }
+
+  protected long ordinalLimitUntil(LocalDateTime aDateTime) {
+    return Math.min(ordinalOf(aDateTime.plusMillis(1)), ordinalLimit());
+  }
+
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    long anOrdinal = ordinalOf(aDateTime.plusMillis(1));
+    if (anOrdinal >= ordinalLimit()) {
+      return null;
+    }
+    return occurrenceAt(anOrdinal);
+  }
+
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    long anOrdinal = Math.min(ordinalOf(aDateTime), ordinalLimit()) - 1;
+    if (anOrdinal < 0) {
+      return null;
+    }
+    return occurrenceAt(anOrdinal);
+  }
+
+  protected static DateTimeSpan earliestOccurrenceAfter(
+      List<TimeExpression> timeExpressions, 
+      LocalDateTime aDateTime) {
+    DateTimeSpanComparator aComparator = new DateTimeSpanComparator();
+    DateTimeSpan earliestOccurrence = null;
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      DateTimeSpan anOccurrence = 
+          aTimeExpression.nextOccurrenceAfter(aDateTime);
+      if (anOccurrence != null && (earliestOccurrence == null || 
+          aComparator.compare(anOccurrence, earliestOccurrence) < 0)) {
+        earliestOccurrence = anOccurrence;
+      }
+    }
+    return earliestOccurrence;
+  }
+
+  protected static DateTimeSpan latestOccurrenceBefore(
+      List<TimeExpression> timeExpressions, 
+      LocalDateTime aDateTime) {
+    DateTimeSpanComparator aComparator = new DateTimeSpanComparator();
+    DateTimeSpan latestOccurrence = null;
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      DateTimeSpan anOccurrence = 
+          aTimeExpression.previousOccurrenceBefore(aDateTime);
+      if (anOccurrence != null && (latestOccurrence == null || 
+          aComparator.compare(anOccurrence, latestOccurrence) > 0)) {
+        latestOccurrence = anOccurrence;
+      }
+    }
+    return latestOccurrence;
+  }
+
+  /*
+   * Whether occurrences can be addressed by ordinal, which the leaves
+   * without a closed form for them cannot.
+   */
+  protected boolean hasOrdinals() {
+    return true;
+  }
+
+  /*
+   * A single leaf with ordinals computes each occurrence from its ordinal
+   * and splits by ordinals, into exactly sized parts. Other expressions
+   * split the range of starts, merging their leaves in order within each
+   * part, so their size is only estimated and the stream is neither SIZED
+   * nor SUBSIZED.
+   */
+  public Stream<DateTimeSpan> occurrences(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    List<TimeExpression> leafExpressions = leafExpressions();
+    if (leafExpressions.size() != 1 || !leafExpressions.get(0).hasOrdinals()) {
+      return StreamSupport.stream(
+          new OccurrenceRangeSpliterator(
+              this, 
+              EpochDay.millisOf(aDateTime), 
+              EpochDay.millisOf(anotherDateTime)),
+          false);
+    }
+    TimeExpression aLeafExpression = leafExpressions.get(0);
+    return StreamSupport.stream(
+        new TimeExpressionOccurrenceSpliterator(
+            aLeafExpression, 
+            aLeafExpression.ordinalOf(aDateTime), 
+            aLeafExpression.ordinalLimitUntil(anotherDateTime)), 
+        false);
+  }
+
+  protected static int sumOf(int aNumber, int anotherNumber) {
+    return (int) Math.min(
+        (long) aNumber + anotherNumber, 
+        Integer.MAX_VALUE);
+  }
+
+  protected int timeSpanIndexFrom(LocalTime aTime) {
+    int aLowIndex = 0;
+    int aHighIndex = timeSpans.length;
+    while (aLowIndex < aHighIndex) {
+      int aMiddleIndex = (aLowIndex + aHighIndex) >>> 1;
+      if (timeSpans[aMiddleIndex].startingTime().isBefore(aTime)) {
+        aLowIndex = aMiddleIndex + 1;
+      } else {
+        aHighIndex = aMiddleIndex;
+      }
+    }
+    return aLowIndex;
+  }
+
+  public abstract OccurrenceCursor cursor();
+
+  public abstract OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate);
+
+  public abstract OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime);
+
+  /*
+   * The time kept busy by the occurrences starting from one date time to
+   * another, both inclusive: overlapping or adjacent occurrences, from the
+   * same or different subexpressions, are merged into a single span.
+   */
+  public OccurrenceCursor busyCursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    return new CoalescingOccurrenceCursor(
+        cursorBetween(aDateTime, anotherDateTime));
+  }
+
+  public Iterator<DateTimeSpan> busyIteratorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    return new OccurrenceCursorIterator(
+        busyCursorBetween(aDateTime, anotherDateTime));
+  }
+
+  /*
+   * Fills the first batch only. Reading the rest goes through one cursor
+   * from cursorBetween, calling fill on it again until it fills nothing:
+   * restarting from the last start read would skip or repeat the
+   * occurrences sharing that start.
+   */
+  public int fillOccurrences(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime,
+      long[] starts,
+      long[] ends,
+      int anOffset) {
+    return cursorBetween(aDateTime, anotherDateTime).
+        fill(starts, ends, anOffset);
+  }
+
   public TimeExpression and(TimeExpression anotherTimeExpression) {
-    return new BinaryTimeExpression(
+    return new UnionTimeExpression(
+        this,
+        anotherTimeExpression);
+  }
+
+  public TimeExpression intersect(TimeExpression anotherTimeExpression) {
+    return new IntersectionTimeExpression(
+        this,
+        anotherTimeExpression);
+  }
+
+  public TimeExpression except(TimeExpression anotherTimeExpression) {
+    return new DifferenceTimeExpression(
         this,
         anotherTimeExpression);
   }
@@ -358,6 +753,14 @@ public abstract class TimeExpression {
     subexpressions.add(this);
     return subexpressions;
   }
+
+  /*
+   * The expressions whose own iterators and cursors are already ordered,
+   * so composites can merge all of them in a single pass.
+   */
+  protected List<TimeExpression> leafExpressions() {
+    return subexpressions();
+  }
   
   public abstract int numberOfOcurringDays();
   
@@ -371,6 +774,18 @@ public abstract class TimeExpression {
 
   public abstract LocalDateTime startingDateTime();
 
+  /*
+   * Bounds of the days occurrences can start on, unbounded unless the
+   * expression knows better.
+   */
+  protected long startingEpochDay() {
+    return Long.MIN_VALUE;
+  }
+
+  protected long endingEpochDay() {
+    return Long.MAX_VALUE;
+  }
+
   public LocalDate startingDate() {
     return startingDateTime().toLocalDate();
   }
@@ -412,19 +827,71 @@ public abstract class TimeExpression {
   public void endingOn(LocalDateTime anEndingDateTime) {
   }
 
-  protected boolean within(LocalTime aTime) {
-    boolean within = false;
-    for (TimeSpan aTimePeriod : timeSpans) {
-      within |= aTimePeriod.includes(aTime);
-    }
-    return within;
+  protected void indexTimeSpans() {
+    sameDaySlots = TimeSlotTable.sameDayOf(timeSpans);
+    nextDaySlots = TimeSlotTable.nextDayOf(timeSpans);
+  }
+
+  protected TimeSlotTable sameDaySlots() {
+    return sameDaySlots;
+  }
+
+  protected TimeSlotTable nextDaySlots() {
+    return nextDaySlots;
   }
 
   public boolean conflictsWith(DateTimeSpan aDateTimeSpan) {
-    boolean conflicts = false;
-    conflicts |= this.evaluate(aDateTimeSpan.startingDateTime());
-    conflicts |= this.evaluate(aDateTimeSpan.endingDateTime());
-    return conflicts;
+    return firstOccurrenceOverlapping(aDateTimeSpan) != null;
+  }
+
+  /*
+   * The earliest occurrence sharing some time with the span, the shortest
+   * one among those starting together; occurrences that only touch the
+   * span do not overlap. Occurrences last less than a day,
+   * so each leaf is only sought from the day before the span.
+   */
+  public DateTimeSpan firstOccurrenceOverlapping(DateTimeSpan aDateTimeSpan) {
+    long aStart = EpochDay.millisOf(aDateTimeSpan.startingDateTime());
+    long anEnd = EpochDay.millisOf(aDateTimeSpan.endingDateTime());
+    long aFirstStart = Long.MAX_VALUE;
+    long aFirstEnd = Long.MAX_VALUE;
+    for (TimeExpression aLeafExpression : leafExpressions()) {
+      OccurrenceCursor aCursor = aLeafExpression.cursorBetween(
+          aDateTimeSpan.startingDateTime().minusDays(1),
+          aDateTimeSpan.endingDateTime());
+      while (aCursor.advance() &&
+          aCursor.startEpochMillis() < anEnd &&
+          aCursor.startEpochMillis() <= aFirstStart) {
+        if (aCursor.endEpochMillis() > aStart && (
+            aCursor.startEpochMillis() < aFirstStart ||
+            aCursor.endEpochMillis() < aFirstEnd)) {
+          aFirstStart = aCursor.startEpochMillis();
+          aFirstEnd = aCursor.endEpochMillis();
+        }
+      }
+    }
+    if (aFirstStart == Long.MAX_VALUE) {
+      return null;
+    }
+    return new DateTimeSpan(
+        EpochDay.dateTimeOf(aFirstStart),
+        EpochDay.dateTimeOf(aFirstEnd));
+  }
+
+  public DateTimeSpan firstConflictWith(TimeExpression anotherTimeExpression) {
+    return TimeExpressionConflicts.firstConflictBetween(
+        this, anotherTimeExpression);
+  }
+
+  /*
+   * Validation before saving: combining expressions does not check them,
+   * so stored expressions keep loading. Subexpressions are compared with
+   * each other only, the time spans inside one of them never conflict.
+   */
+  public void assertNoConflicts() {
+    if (TimeExpressionConflicts.conflictsAmong(subexpressions())) {
+      throw new TimeExpressionException(BinaryTimeExpression.DATE_TIME_CONFLICT);
+    }
   }
 
   public boolean includes(LocalDateTime aDateTime) {
@@ -456,13 +923,12 @@ public abstract class TimeExpression {
   }
 
   private static TimeExpression newBinaryFrom(JsonArray aTimeExpressionAsJsonArray) {
-    TimeExpression timeExpression =
-        newFrom(aTimeExpressionAsJsonArray.get(0).getAsJsonObject());
-    for (int index = 1; index < aTimeExpressionAsJsonArray.size(); index++) {
-      timeExpression = timeExpression.and(
+    List<TimeExpression> timeExpressions = new ArrayList<>();
+    for (int index = 0; index < aTimeExpressionAsJsonArray.size(); index++) {
+      timeExpressions.add(
           newFrom(aTimeExpressionAsJsonArray.get(index).getAsJsonObject()));
     }
-    return timeExpression;
+    return from(timeExpressions);
   }
 
   private static TimeSpan[] timePeriodsOf(JsonObject timeExpressionAsJsonObject) {
@@ -485,6 +951,14 @@ public abstract class TimeExpression {
   private static TimeExpression newFrom(JsonObject timeExpressionAsJsonObject) {
     switch (timeExpressionAsJsonObject.get("type").getAsString()) {
 
+      case "#Intersection":
+        return from(timeExpressionAsJsonObject.get("leftExpression")).intersect(
+            from(timeExpressionAsJsonObject.get("rightExpression")));
+
+      case "#Difference":
+        return from(timeExpressionAsJsonObject.get("leftExpression")).except(
+            from(timeExpressionAsJsonObject.get("rightExpression")));
+
     case "#Date":
         return onFromUntil(
             DATE_TIME_FORMATTER.parseLocalDate(
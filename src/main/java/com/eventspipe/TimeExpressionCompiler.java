@@ -0,0 +1,187 @@
+package com.eventspipe;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.filterArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodHandles.insertArguments;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Composes a method handle of (epoch day, millis of day) to boolean out of
+ * the leaves of an expression tree. Starting days, ending days, periods
+ * and slot tables of daily and single date leaves are bound as constants,
+ * the remaining leaves are bound as receivers of their own evaluate, and
+ * unions become a balanced tree of short-circuiting guards.
+ */
+public class TimeExpressionCompiler {
+
+  private static final MethodHandle OCCURS_ON;
+
+  private static final MethodHandle OCCURS_BETWEEN;
+
+  private static final MethodHandle OCCURS_EVERY;
+
+  private static final MethodHandle PREVIOUS_DAY;
+
+  private static final MethodHandle INCLUDES;
+
+  private static final MethodHandle EVALUATE;
+
+  private static final MethodHandle EVALUATE_AT;
+
+  private static final MethodHandle TRUE = dropArguments(
+      constant(boolean.class, true), 0, long.class, int.class);
+
+  private static final MethodHandle FALSE = dropArguments(
+      constant(boolean.class, false), 0, long.class, int.class);
+
+  static {
+    MethodHandles.Lookup aLookup = MethodHandles.lookup();
+    try {
+      OCCURS_ON = aLookup.findStatic(
+          TimeExpressionCompiler.class,
+          "occursOn",
+          methodType(boolean.class, long.class, long.class));
+      OCCURS_BETWEEN = aLookup.findStatic(
+          TimeExpressionCompiler.class,
+          "occursBetween",
+          methodType(boolean.class, long.class, long.class, long.class));
+      OCCURS_EVERY = aLookup.findStatic(
+          TimeExpressionCompiler.class,
+          "occursEvery",
+          methodType(
+              boolean.class, long.class, long.class, long.class, long.class));
+      PREVIOUS_DAY = aLookup.findStatic(
+          TimeExpressionCompiler.class,
+          "previousDay",
+          methodType(long.class, long.class));
+      INCLUDES = aLookup.findVirtual(
+          TimeSlotTable.class,
+          "includes",
+          methodType(boolean.class, int.class));
+      EVALUATE = aLookup.findVirtual(
+          TimeExpression.class,
+          "evaluate",
+          methodType(boolean.class, long.class));
+      EVALUATE_AT = aLookup.findVirtual(
+          TimeExpression.class,
+          "evaluate",
+          methodType(boolean.class, long.class, int.class));
+    } catch (ReflectiveOperationException anException) {
+      throw new ExceptionInInitializerError(anException);
+    }
+  }
+
+  public static CompiledTimeExpression compile(TimeExpression aTimeExpression) {
+    List<MethodHandle> evaluations = new ArrayList<>();
+    for (TimeExpression aLeafExpression : aTimeExpression.leafExpressions()) {
+      if (!(aLeafExpression instanceof NullTimeExpression)) {
+        evaluations.add(evaluationOf(aLeafExpression));
+      }
+    }
+    return new CompiledTimeExpression(
+        aTimeExpression,
+        anyOf(evaluations, 0, evaluations.size()));
+  }
+
+  private static MethodHandle anyOf(
+      List<MethodHandle> evaluations,
+      int aFromIndex,
+      int aToIndex) {
+    if (aFromIndex == aToIndex) {
+      return FALSE;
+    }
+    if (aFromIndex + 1 == aToIndex) {
+      return evaluations.get(aFromIndex);
+    }
+    int aMiddleIndex = (aFromIndex + aToIndex) >>> 1;
+    return guardWithTest(
+        anyOf(evaluations, aFromIndex, aMiddleIndex),
+        TRUE,
+        anyOf(evaluations, aMiddleIndex, aToIndex));
+  }
+
+  /*
+   * Leaves without slot tables of their own, like joins, evaluate the
+   * whole time of day themselves.
+   */
+  private static MethodHandle evaluationOf(TimeExpression aLeafExpression) {
+    if (aLeafExpression.sameDaySlots() == null) {
+      return EVALUATE_AT.bindTo(aLeafExpression);
+    }
+    MethodHandle occurs = occursOf(aLeafExpression);
+    MethodHandle anEvaluation = guardWithTest(
+        dropArguments(
+            INCLUDES.bindTo(aLeafExpression.sameDaySlots()), 0, long.class),
+        dropArguments(occurs, 1, int.class),
+        FALSE);
+    TimeSlotTable nextDaySlots = aLeafExpression.nextDaySlots();
+    if (nextDaySlots.isEmpty()) {
+      return anEvaluation;
+    }
+    return guardWithTest(
+        anEvaluation,
+        TRUE,
+        guardWithTest(
+            dropArguments(INCLUDES.bindTo(nextDaySlots), 0, long.class),
+            dropArguments(
+                filterArguments(occurs, 0, PREVIOUS_DAY), 1, int.class),
+            FALSE));
+  }
+
+  private static MethodHandle occursOf(TimeExpression aLeafExpression) {
+    if (aLeafExpression instanceof DateTimeExpression) {
+      return insertArguments(
+          OCCURS_ON, 0, ((DateTimeExpression) aLeafExpression).epochDay);
+    }
+    if (aLeafExpression instanceof DailyTimeExpression) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aLeafExpression;
+      if (aDailyTimeExpression.magnitudeAmount == 1) {
+        return insertArguments(
+            OCCURS_BETWEEN,
+            0,
+            aDailyTimeExpression.startingEpochDay,
+            aDailyTimeExpression.endingEpochDay);
+      }
+      return insertArguments(
+          OCCURS_EVERY,
+          0,
+          aDailyTimeExpression.startingEpochDay,
+          aDailyTimeExpression.endingEpochDay,
+          (long) aDailyTimeExpression.magnitudeAmount);
+    }
+    return EVALUATE.bindTo(aLeafExpression);
+  }
+
+  private static boolean occursOn(long anOnlyEpochDay, long anEpochDay) {
+    return anOnlyEpochDay == anEpochDay;
+  }
+
+  private static boolean occursBetween(
+      long aStartingEpochDay,
+      long anEndingEpochDay,
+      long anEpochDay) {
+    return aStartingEpochDay <= anEpochDay && anEpochDay <= anEndingEpochDay;
+  }
+
+  private static boolean occursEvery(
+      long aStartingEpochDay,
+      long anEndingEpochDay,
+      long aPeriod,
+      long anEpochDay) {
+    return aStartingEpochDay <= anEpochDay &&
+        anEpochDay <= anEndingEpochDay &&
+        (anEpochDay - aStartingEpochDay) % aPeriod == 0;
+  }
+
+  private static long previousDay(long anEpochDay) {
+    return anEpochDay - 1;
+  }
+}
@@ -0,0 +1,399 @@
+package com.eventspipe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+
+/*
+ * Finds the first occurrence of an expression overlapping an occurrence
+ * of another one without walking their occurrences. For every pair of
+ * leaves, the time spans decide which day offsets (the same day, or a
+ * day apart when crossing midnight) can overlap at all. The first day
+ * both leaves occur on at such an offset is then solved arithmetically
+ * for two dailies, through the Chinese remainder theorem. Otherwise the
+ * sparser leaf is stepped day by day and the other one is evaluated on
+ * each of those days. Month and year based leaves repeat with the
+ * Gregorian era, so the stepping never goes past one combined cycle.
+ * Leaves without time spans, like joins, are walked against the busy
+ * time of the other leaf over one era instead.
+ * Occurrences touching at an end do not overlap.
+ */
+public class TimeExpressionConflicts {
+
+  private static final long NO_DAY = Long.MIN_VALUE;
+
+  private static final long UNKNOWN_CYCLE = EpochDay.DAYS_PER_ERA;
+
+  private static final long MAXIMUM_CYCLE = 1000L * EpochDay.DAYS_PER_ERA;
+
+  private TimeExpressionConflicts() {
+  }
+
+  public static DateTimeSpan firstConflictBetween(
+      TimeExpression aTimeExpression,
+      TimeExpression anotherTimeExpression) {
+    long aFirstStart = Long.MAX_VALUE;
+    long aFirstEnd = Long.MAX_VALUE;
+    for (TimeExpression aLeafExpression : aTimeExpression.leafExpressions()) {
+      if (aLeafExpression instanceof NullTimeExpression) {
+        continue;
+      }
+      TimeSpan[] timeSpans = aLeafExpression.timeSpans();
+      for (TimeExpression anotherLeafExpression :
+          anotherTimeExpression.leafExpressions()) {
+        if (anotherLeafExpression instanceof NullTimeExpression) {
+          continue;
+        }
+        if (timeSpans == null || anotherLeafExpression.timeSpans() == null) {
+          DateTimeSpan aConflict =
+              firstWalkedConflictBetween(aLeafExpression, anotherLeafExpression);
+          if (aConflict != null &&
+              EpochDay.millisOf(aConflict.startingDateTime()) < aFirstStart) {
+            aFirstStart = EpochDay.millisOf(aConflict.startingDateTime());
+            aFirstEnd = EpochDay.millisOf(aConflict.endingDateTime());
+          }
+          continue;
+        }
+        for (int anOffset = -1; anOffset <= 1; anOffset++) {
+          int aTimeSpanIndex = firstOverlappingTimeSpanIndex(
+              timeSpans, anotherLeafExpression.timeSpans(), anOffset);
+          if (aTimeSpanIndex < 0) {
+            continue;
+          }
+          long anEpochDay = firstCommonEpochDay(
+              aLeafExpression, anotherLeafExpression, anOffset);
+          if (anEpochDay == NO_DAY) {
+            continue;
+          }
+          long aStart = anEpochDay * EpochDay.MILLIS_PER_DAY +
+              timeSpans[aTimeSpanIndex].startingMillisOfDay();
+          if (aStart < aFirstStart) {
+            aFirstStart = aStart;
+            aFirstEnd = anEpochDay * EpochDay.MILLIS_PER_DAY +
+                endingMillisOf(timeSpans[aTimeSpanIndex]);
+          }
+        }
+      }
+    }
+    if (aFirstStart == Long.MAX_VALUE) {
+      return null;
+    }
+    return new DateTimeSpan(
+        new LocalDateTime(aFirstStart, DateTimeZone.UTC),
+        new LocalDateTime(aFirstEnd, DateTimeZone.UTC));
+  }
+
+  /*
+   * Whether a leaf of one expression overlaps a leaf of another one; leaves
+   * of the same expression are not compared. Leaves are swept by their
+   * first day, so only those whose days come within a day of each other,
+   * for time spans crossing midnight, are solved.
+   */
+  public static boolean conflictsAmong(List<TimeExpression> theTimeExpressions) {
+    List<TimeExpression> leafExpressions = new ArrayList<>();
+    List<Integer> expressionIndices = new ArrayList<>();
+    for (int anIndex = 0; anIndex < theTimeExpressions.size(); anIndex++) {
+      for (TimeExpression aLeafExpression :
+          theTimeExpressions.get(anIndex).leafExpressions()) {
+        if (!(aLeafExpression instanceof NullTimeExpression)) {
+          leafExpressions.add(aLeafExpression);
+          expressionIndices.add(anIndex);
+        }
+      }
+    }
+    List<Integer> sweptIndices = new ArrayList<>();
+    for (int anIndex = 0; anIndex < leafExpressions.size(); anIndex++) {
+      sweptIndices.add(anIndex);
+    }
+    sweptIndices.sort(Comparator.comparingLong(
+        anIndex -> leafExpressions.get(anIndex).startingEpochDay()));
+    List<Integer> runningIndices = new ArrayList<>();
+    for (int anIndex : sweptIndices) {
+      TimeExpression aLeafExpression = leafExpressions.get(anIndex);
+      long aFirstEpochDay = shifted(aLeafExpression.startingEpochDay(), -1);
+      runningIndices.removeIf(aRunningIndex ->
+          leafExpressions.get(aRunningIndex).endingEpochDay() < aFirstEpochDay);
+      for (int aRunningIndex : runningIndices) {
+        if (!expressionIndices.get(aRunningIndex).equals(
+                expressionIndices.get(anIndex)) &&
+            firstConflictBetween(
+                leafExpressions.get(aRunningIndex), aLeafExpression) != null) {
+          return true;
+        }
+      }
+      runningIndices.add(anIndex);
+    }
+    return false;
+  }
+
+  /*
+   * Busy spans are disjoint and sorted, so the first one still running at
+   * the start of an occurrence is the only one that can overlap it. They
+   * are read from the day before to the day after the occurrences.
+   */
+  private static DateTimeSpan firstWalkedConflictBetween(
+      TimeExpression aLeafExpression,
+      TimeExpression anotherLeafExpression) {
+    long aFirstEpochDay = Math.max(
+        aLeafExpression.startingEpochDay(),
+        shifted(anotherLeafExpression.startingEpochDay(), -1));
+    long aLastEpochDay = Math.min(
+        aLeafExpression.endingEpochDay(),
+        shifted(anotherLeafExpression.endingEpochDay(), 1));
+    if (aFirstEpochDay == Long.MIN_VALUE || aFirstEpochDay > aLastEpochDay) {
+      return null;
+    }
+    aLastEpochDay = Math.min(aLastEpochDay, aFirstEpochDay + UNKNOWN_CYCLE - 1);
+    LocalDateTime aDateTime =
+        EpochDay.dateTimeOf(aFirstEpochDay * EpochDay.MILLIS_PER_DAY);
+    LocalDateTime anotherDateTime =
+        EpochDay.dateTimeOf((aLastEpochDay + 1) * EpochDay.MILLIS_PER_DAY - 1);
+    OccurrenceCursor aCursor =
+        aLeafExpression.cursorBetween(aDateTime, anotherDateTime);
+    OccurrenceCursor aBusyCursor = anotherLeafExpression.busyCursorBetween(
+        aDateTime.minusDays(1), anotherDateTime.plusDays(1));
+    boolean busy = aBusyCursor.advance();
+    while (busy && aCursor.advance()) {
+      while (busy && aBusyCursor.endEpochMillis() <= aCursor.startEpochMillis()) {
+        busy = aBusyCursor.advance();
+      }
+      if (busy && aBusyCursor.startEpochMillis() < aCursor.endEpochMillis()) {
+        return new DateTimeSpan(
+            EpochDay.dateTimeOf(aCursor.startEpochMillis()),
+            EpochDay.dateTimeOf(aCursor.endEpochMillis()));
+      }
+    }
+    return null;
+  }
+
+  /*
+   * Time spans are sorted by their start, so the first overlapping one is
+   * also the earliest.
+   */
+  private static int firstOverlappingTimeSpanIndex(
+      TimeSpan[] timeSpans,
+      TimeSpan[] otherTimeSpans,
+      int anOffset) {
+    long anOffsetMillis = anOffset * EpochDay.MILLIS_PER_DAY;
+    for (int anIndex = 0; anIndex < timeSpans.length; anIndex++) {
+      for (TimeSpan anotherTimeSpan : otherTimeSpans) {
+        if (timeSpans[anIndex].startingMillisOfDay() <
+                anOffsetMillis + endingMillisOf(anotherTimeSpan) &&
+            anOffsetMillis + anotherTimeSpan.startingMillisOfDay() <
+                endingMillisOf(timeSpans[anIndex])) {
+          return anIndex;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static long endingMillisOf(TimeSpan aTimeSpan) {
+    return aTimeSpan.endingMillisOfDay() +
+        (aTimeSpan.endsNextDay() ? EpochDay.MILLIS_PER_DAY : 0);
+  }
+
+  /*
+   * The first day the leaf occurs on while the other leaf occurs the
+   * given number of days later.
+   */
+  private static long firstCommonEpochDay(
+      TimeExpression aLeafExpression,
+      TimeExpression anotherLeafExpression,
+      int anOffset) {
+    long aFirstEpochDay = Math.max(
+        aLeafExpression.startingEpochDay(),
+        shifted(anotherLeafExpression.startingEpochDay(), -anOffset));
+    long aLastEpochDay = Math.min(
+        aLeafExpression.endingEpochDay(),
+        shifted(anotherLeafExpression.endingEpochDay(), -anOffset));
+    if (aFirstEpochDay > aLastEpochDay) {
+      return NO_DAY;
+    }
+    if (aLeafExpression instanceof DailyTimeExpression &&
+        anotherLeafExpression instanceof DailyTimeExpression) {
+      DailyTimeExpression aDailyTimeExpression =
+          (DailyTimeExpression) aLeafExpression;
+      DailyTimeExpression anotherDailyTimeExpression =
+          (DailyTimeExpression) anotherLeafExpression;
+      return firstCommonEpochDay(
+          aDailyTimeExpression.startingEpochDay,
+          aDailyTimeExpression.magnitudeAmount,
+          anotherDailyTimeExpression.startingEpochDay - anOffset,
+          anotherDailyTimeExpression.magnitudeAmount,
+          aFirstEpochDay,
+          aLastEpochDay);
+    }
+    long aCycle = Math.min(
+        lcm(cycleOf(aLeafExpression), cycleOf(anotherLeafExpression)),
+        MAXIMUM_CYCLE);
+    aLastEpochDay = Math.min(aLastEpochDay, aFirstEpochDay + aCycle - 1);
+    if (gapOf(aLeafExpression) >= gapOf(anotherLeafExpression)) {
+      return firstSteppedEpochDay(
+          aLeafExpression, anotherLeafExpression, anOffset,
+          aFirstEpochDay, aLastEpochDay);
+    }
+    long anEpochDay = firstSteppedEpochDay(
+        anotherLeafExpression, aLeafExpression, -anOffset,
+        aFirstEpochDay + anOffset, aLastEpochDay + anOffset);
+    return anEpochDay == NO_DAY ? NO_DAY : anEpochDay - anOffset;
+  }
+
+  private static long firstSteppedEpochDay(
+      TimeExpression aSteppedExpression,
+      TimeExpression anEvaluatedExpression,
+      int anOffset,
+      long aFirstEpochDay,
+      long aLastEpochDay) {
+    OccurrenceCursor aCursor = aSteppedExpression.cursorFromTo(
+        EpochDay.dateOf(aFirstEpochDay), EpochDay.dateOf(aLastEpochDay + 1));
+    long aPreviousEpochDay = NO_DAY;
+    while (aCursor.advance()) {
+      long anEpochDay =
+          Math.floorDiv(aCursor.startEpochMillis(), EpochDay.MILLIS_PER_DAY);
+      if (anEpochDay > aLastEpochDay) {
+        return NO_DAY;
+      }
+      if (anEpochDay != aPreviousEpochDay &&
+          occursOn(anEvaluatedExpression, anEpochDay + anOffset)) {
+        return anEpochDay;
+      }
+      aPreviousEpochDay = anEpochDay;
+    }
+    return NO_DAY;
+  }
+
+  /*
+   * Monthly and yearly occurrences on days missing from shorter months
+   * fall on their last day, which evaluate does not match, so those
+   * leaves seek their cursor to the day instead.
+   */
+  private static boolean occursOn(TimeExpression aLeafExpression, long anEpochDay) {
+    if (aLeafExpression instanceof DailyTimeExpression ||
+        aLeafExpression instanceof DateTimeExpression) {
+      return aLeafExpression.evaluate(anEpochDay);
+    }
+    OccurrenceCursor aCursor = aLeafExpression.cursorFromTo(
+        EpochDay.dateOf(anEpochDay), EpochDay.dateOf(anEpochDay + 1));
+    return aCursor.advance() &&
+        Math.floorDiv(aCursor.startEpochMillis(), EpochDay.MILLIS_PER_DAY) ==
+            anEpochDay;
+  }
+
+  /*
+   * The first day from aFirstEpochDay congruent to both starting days
+   * modulo their periods.
+   */
+  private static long firstCommonEpochDay(
+      long aStartingEpochDay,
+      long aPeriod,
+      long anotherStartingEpochDay,
+      long anotherPeriod,
+      long aFirstEpochDay,
+      long aLastEpochDay) {
+    long aDivisor = gcd(aPeriod, anotherPeriod);
+    long aDifference = anotherStartingEpochDay - aStartingEpochDay;
+    if (Math.floorMod(aDifference, aDivisor) != 0) {
+      return NO_DAY;
+    }
+    long aModulus = anotherPeriod / aDivisor;
+    long aMultiple = Math.floorMod(
+        Math.floorMod(aDifference / aDivisor, aModulus) *
+            inverseOf(Math.floorMod(aPeriod / aDivisor, aModulus), aModulus),
+        aModulus);
+    long aCommonEpochDay = aStartingEpochDay + aPeriod * aMultiple;
+    long aCommonPeriod = aPeriod * aModulus;
+    long anEpochDay = aFirstEpochDay +
+        Math.floorMod(aCommonEpochDay - aFirstEpochDay, aCommonPeriod);
+    return anEpochDay <= aLastEpochDay ? anEpochDay : NO_DAY;
+  }
+
+  private static long inverseOf(long aNumber, long aModulus) {
+    long anInverse = 0;
+    long aNextInverse = 1;
+    long aRemainder = aModulus;
+    long aNextRemainder = aNumber;
+    while (aNextRemainder != 0) {
+      long aQuotient = aRemainder / aNextRemainder;
+      long aTemporary = anInverse - aQuotient * aNextInverse;
+      anInverse = aNextInverse;
+      aNextInverse = aTemporary;
+      aTemporary = aRemainder - aQuotient * aNextRemainder;
+      aRemainder = aNextRemainder;
+      aNextRemainder = aTemporary;
+    }
+    return Math.floorMod(anInverse, aModulus);
+  }
+
+  /*
+   * Number of days after which the days a leaf occurs on repeat.
+   */
+  private static long cycleOf(TimeExpression aLeafExpression) {
+    if (aLeafExpression instanceof DailyTimeExpression) {
+      return ((DailyTimeExpression) aLeafExpression).magnitudeAmount;
+    }
+    if (aLeafExpression instanceof DateTimeExpression) {
+      return 1;
+    }
+    if (aLeafExpression instanceof YearlyTimeExpression) {
+      return cycleOfMonths(
+          12 * ((YearlyTimeExpression) aLeafExpression).magnitudeAmount);
+    }
+    if (aLeafExpression instanceof PeriodicTimeExpression) {
+      return cycleOfMonths(
+          ((PeriodicTimeExpression) aLeafExpression).magnitudeAmount);
+    }
+    return UNKNOWN_CYCLE;
+  }
+
+  private static long cycleOfMonths(long anAmountOfMonths) {
+    return lcm(anAmountOfMonths, EpochDay.MONTHS_PER_ERA) /
+        EpochDay.MONTHS_PER_ERA * EpochDay.DAYS_PER_ERA;
+  }
+
+  /*
+   * Rough number of days between occurrences, to step the sparser leaf.
+   */
+  private static long gapOf(TimeExpression aLeafExpression) {
+    if (aLeafExpression instanceof DateTimeExpression) {
+      return Long.MAX_VALUE;
+    }
+    if (aLeafExpression instanceof DailyTimeExpression) {
+      return ((DailyTimeExpression) aLeafExpression).magnitudeAmount;
+    }
+    if (aLeafExpression instanceof YearlyTimeExpression) {
+      return 365L * ((YearlyTimeExpression) aLeafExpression).magnitudeAmount;
+    }
+    if (aLeafExpression instanceof PeriodicTimeExpression) {
+      return 28L * ((PeriodicTimeExpression) aLeafExpression).magnitudeAmount;
+    }
+    return 1;
+  }
+
+  private static long shifted(long anEpochDay, int anOffset) {
+    if (anEpochDay == Long.MIN_VALUE || anEpochDay == Long.MAX_VALUE) {
+      return anEpochDay;
+    }
+    return anEpochDay + anOffset;
+  }
+
+  private static long gcd(long aNumber, long anotherNumber) {
+    while (anotherNumber != 0) {
+      long aRemainder = aNumber % anotherNumber;
+      aNumber = anotherNumber;
+      anotherNumber = aRemainder;
+    }
+    return aNumber;
+  }
+
+  private static long lcm(long aNumber, long anotherNumber) {
+    long aQuotient = aNumber / gcd(aNumber, anotherNumber);
+    if (aQuotient > Long.MAX_VALUE / anotherNumber) {
+      return Long.MAX_VALUE;
+    }
+    return aQuotient * anotherNumber;
+  }
+}
@@ -0,0 +1,44 @@
+package com.eventspipe;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Walks the ordinals of an expression from the last one down, computing
+ * each occurrence directly so starting at the end costs nothing extra.
+ */
+public class TimeExpressionDescendingIterator implements Iterator<DateTimeSpan> {
+
+  private TimeExpression timeExpression;
+
+  private long firstOrdinal;
+
+  private long currentOrdinal;
+
+  public TimeExpressionDescendingIterator(
+      TimeExpression aTimeExpression,
+      long aFirstOrdinal,
+      long anOrdinalLimit) {
+    this.timeExpression = aTimeExpression;
+    this.firstOrdinal = aFirstOrdinal;
+    this.currentOrdinal = anOrdinalLimit - 1;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return currentOrdinal >= firstOrdinal;
+  }
+
+  @Override
+  public DateTimeSpan next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return timeExpression.occurrenceAt(currentOrdinal--);
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -39,6 +39,9 @@ public class TimeExpressionException extends RuntimeException {
 
   public static final TimeExpressionException EVERY_AMOUNT_INVALID = 
       new TimeExpressionException("EVERY_AMOUNT_INVALID");
+
+  public static final TimeExpressionException ORDINAL_INVALID = 
+      new TimeExpressionException("ORDINAL_INVALID");
   
   public TimeExpressionException(String aFailureMessage) {
     super(aFailureMessage);
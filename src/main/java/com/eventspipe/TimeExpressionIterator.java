@@ -3,8 +3,6 @@ package com.eventspipe;
 import java.util.Iterator;
 
 import org.joda.time.LocalDate;
-import org.joda.time.LocalDateTime;
-import org.joda.time.LocalTime;
 
 public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
 
@@ -25,17 +23,13 @@ public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
     dateSpan = aDateSpan;
     timeSpans = aListOfTimeSpans;
     localDateProvider = aLocalDateProvider;
-    currentDate = aDateSpan.startingDate();
     fromDate = aDate;
     toDate = anotherDate;
     timePeriodIterationIndex = 0;
-    advanceTo(fromDate);
-  }
-
-  private void advanceTo(LocalDate aDate) {
-    while (currentDate.isBefore(aDate)) {
-      next();
-    }
+    currentDate = 
+        localDateProvider.provideFirstFrom(
+            aDateSpan.startingDate(), 
+            fromDate);
   }
 
   @Override
@@ -48,12 +42,8 @@ public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
 
   @Override
   public DateTimeSpan next() {
-    LocalDate nextStartingDate = this.currentDate;
-    LocalDate nextEndingDate = this.currentDate;
     DateTimeSpan nextDateTimeSpan =
-        nextDateTimeSpan(
-            nextStartingDate,
-            nextEndingDate);
+        timeSpans[timePeriodIterationIndex].on(this.currentDate);
     timePeriodIterationIndex++;
     if (timePeriodIterationIndex == timeSpans.length) {
       this.currentDate =
@@ -63,32 +53,6 @@ public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
     return nextDateTimeSpan;
   }
 
-  private DateTimeSpan nextDateTimeSpan(
-      LocalDate nextStartingDate,
-      LocalDate nextEndingDate) {
-    LocalTime startingTime =
-        timeSpans[timePeriodIterationIndex].startingTime();
-    LocalTime endingTime = timeSpans[timePeriodIterationIndex].endingTime();
-    if (endingTime.isBefore(startingTime) || endingTime.isEqual(startingTime)) {
-      nextEndingDate = nextEndingDate.plusDays(1);
-    }
-    return new DateTimeSpan(
-        new LocalDateTime(
-            nextStartingDate.getYear(),
-            nextStartingDate.getMonthOfYear(),
-            nextStartingDate.getDayOfMonth(),
-            startingTime.getHourOfDay(),
-            startingTime.getMinuteOfHour(),
-            startingTime.getSecondOfMinute()),
-        new LocalDateTime(
-            nextEndingDate.getYear(),
-            nextEndingDate.getMonthOfYear(),
-            nextEndingDate.getDayOfMonth(),
-            endingTime.getHourOfDay(),
-            endingTime.getMinuteOfHour(),
-            endingTime.getSecondOfMinute()));
-  }
-
   @Override
   public void remove() {
     throw new UnsupportedOperationException();
@@ -101,7 +65,14 @@ public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
     LocalDateProvider aLocalDateProvider = new LocalDateProvider() {
       @Override
       public LocalDate provideNextFrom(LocalDate aLocalDate) {
-        return aLocalDate.plus(periodicTimeExpression.magnitude());
+        return periodicTimeExpression.repetitionAfter(aLocalDate);
+      }
+
+      @Override
+      public LocalDate provideFirstFrom(
+          LocalDate aStartingDate, 
+          LocalDate aLocalDate) {
+        return periodicTimeExpression.repetitionOnOrAfter(aLocalDate);
       }
     };
     return new TimeExpressionIterator(
@@ -112,33 +83,17 @@ public class TimeExpressionIterator implements Iterator<DateTimeSpan> {
         anotherDate);
   }
 
-  public static Iterator<DateTimeSpan> on(
-      final DayOfWeekInWeekOfMonthTimeExpression dayOfWeekInWeekOfMonthTimeExpression, 
-      LocalDate aDate,
-      LocalDate anotherDate) {
-    final DateSpan aDateSpan = dayOfWeekInWeekOfMonthTimeExpression.dateSpan();
-    LocalDateProvider aLocalDateProvider = new LocalDateProvider() {
-      @Override
-      public LocalDate provideNextFrom(LocalDate aDate) {
-        for (int anIndex = 0; anIndex <
-            dayOfWeekInWeekOfMonthTimeExpression.months().getMonths(); anIndex++) {
-          aDate = aDate.plusWeeks(4);
-          if (!dayOfWeekInWeekOfMonthTimeExpression.matchesWeekOfMonth(aDate)) {
-            aDate = aDate.plusWeeks(1);
-          }
-        }
-        return aDate;
-      }
-    };
-    return new TimeExpressionIterator(
-        aDateSpan,
-        dayOfWeekInWeekOfMonthTimeExpression.timeSpans(),
-        aLocalDateProvider, 
-        aDate,
-        anotherDate);
-  }
-  
   interface LocalDateProvider {
     LocalDate provideNextFrom(LocalDate aLocalDate);
+
+    default LocalDate provideFirstFrom(
+        LocalDate aStartingDate, 
+        LocalDate aLocalDate) {
+      LocalDate aDate = aStartingDate;
+      while (aDate.isBefore(aLocalDate)) {
+        aDate = provideNextFrom(aDate);
+      }
+      return aDate;
+    }
   }
 }
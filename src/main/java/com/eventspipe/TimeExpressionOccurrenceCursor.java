@@ -0,0 +1,95 @@
+package com.eventspipe;
+
+public class TimeExpressionOccurrenceCursor implements OccurrenceCursor {
+
+  private EpochDayProvider epochDayProvider;
+  private long[] startingMillisOfDay;
+  private long[] endingMillisOfDay;
+  private long ordinal;
+  private long ordinalLimit;
+  private int repetition;
+  private int timeSpanIndex;
+  private long epochMillis;
+  private long startEpochMillis;
+  private long endEpochMillis;
+
+  public TimeExpressionOccurrenceCursor(
+      TimeSpan[] aListOfTimeSpans,
+      EpochDayProvider anEpochDayProvider,
+      long aFirstOrdinal,
+      long anOrdinalLimit) {
+    epochDayProvider = anEpochDayProvider;
+    startingMillisOfDay = new long[aListOfTimeSpans.length];
+    endingMillisOfDay = new long[aListOfTimeSpans.length];
+    for (int anIndex = 0; anIndex < aListOfTimeSpans.length; anIndex++) {
+      startingMillisOfDay[anIndex] = 
+          aListOfTimeSpans[anIndex].startingMillisOfOccurrence();
+      endingMillisOfDay[anIndex] = 
+          aListOfTimeSpans[anIndex].endingMillisOfOccurrence();
+    }
+    ordinal = aFirstOrdinal;
+    ordinalLimit = anOrdinalLimit;
+    repetition = (int) (aFirstOrdinal / aListOfTimeSpans.length);
+    timeSpanIndex = (int) (aFirstOrdinal % aListOfTimeSpans.length);
+    if (ordinal < ordinalLimit) {
+      epochMillis = 
+          epochDayProvider.epochDayAt(repetition) * EpochDay.MILLIS_PER_DAY;
+    }
+  }
+
+  @Override
+  public boolean advance() {
+    if (ordinal >= ordinalLimit) {
+      return false;
+    }
+    if (timeSpanIndex == startingMillisOfDay.length) {
+      repetition++;
+      timeSpanIndex = 0;
+      epochMillis = 
+          epochDayProvider.epochDayAt(repetition) * EpochDay.MILLIS_PER_DAY;
+    }
+    startEpochMillis = epochMillis + startingMillisOfDay[timeSpanIndex];
+    endEpochMillis = epochMillis + endingMillisOfDay[timeSpanIndex];
+    timeSpanIndex++;
+    ordinal++;
+    return true;
+  }
+
+  @Override
+  public int fill(long[] starts, long[] ends, int anOffset) {
+    int aLimit = (int) Math.min(
+        starts.length - anOffset, 
+        ordinalLimit - ordinal);
+    for (int anIndex = anOffset; anIndex < anOffset + aLimit; anIndex++) {
+      if (timeSpanIndex == startingMillisOfDay.length) {
+        repetition++;
+        timeSpanIndex = 0;
+        epochMillis = 
+            epochDayProvider.epochDayAt(repetition) * EpochDay.MILLIS_PER_DAY;
+      }
+      starts[anIndex] = epochMillis + startingMillisOfDay[timeSpanIndex];
+      ends[anIndex] = epochMillis + endingMillisOfDay[timeSpanIndex];
+      timeSpanIndex++;
+    }
+    if (aLimit > 0) {
+      ordinal += aLimit;
+      startEpochMillis = starts[anOffset + aLimit - 1];
+      endEpochMillis = ends[anOffset + aLimit - 1];
+    }
+    return Math.max(aLimit, 0);
+  }
+
+  @Override
+  public long startEpochMillis() {
+    return startEpochMillis;
+  }
+
+  @Override
+  public long endEpochMillis() {
+    return endEpochMillis;
+  }
+
+  interface EpochDayProvider {
+    long epochDayAt(int aRepetition);
+  }
+}
@@ -0,0 +1,59 @@
+package com.eventspipe;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ * Spliterator over a range of ordinals of a leaf expression. Splitting is
+ * plain ordinal arithmetic and every occurrence is computed directly from
+ * its ordinal, so the parts are sized exactly.
+ */
+public class TimeExpressionOccurrenceSpliterator
+    implements Spliterator<DateTimeSpan> {
+
+  private TimeExpression timeExpression;
+
+  private long ordinal;
+
+  private long ordinalLimit;
+
+  public TimeExpressionOccurrenceSpliterator(
+      TimeExpression aTimeExpression,
+      long aFirstOrdinal,
+      long anOrdinalLimit) {
+    timeExpression = aTimeExpression;
+    ordinal = aFirstOrdinal;
+    ordinalLimit = Math.max(aFirstOrdinal, anOrdinalLimit);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super DateTimeSpan> anAction) {
+    if (ordinal >= ordinalLimit) {
+      return false;
+    }
+    anAction.accept(timeExpression.occurrenceAt(ordinal++));
+    return true;
+  }
+
+  @Override
+  public Spliterator<DateTimeSpan> trySplit() {
+    long aMiddle = ordinal + (ordinalLimit - ordinal) / 2;
+    if (aMiddle <= ordinal) {
+      return null;
+    }
+    Spliterator<DateTimeSpan> aPrefix =
+        new TimeExpressionOccurrenceSpliterator(timeExpression, ordinal, aMiddle);
+    ordinal = aMiddle;
+    return aPrefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return ordinalLimit - ordinal;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+  }
+}
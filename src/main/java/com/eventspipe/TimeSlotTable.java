@@ -0,0 +1,91 @@
+package com.eventspipe;
+
+import java.util.Arrays;
+
+/*
+ * Sorted, disjoint and inclusive millis-of-day ranges. Spans crossing
+ * midnight are split: the part before midnight belongs to the table of
+ * the day they start on, the part after midnight to the table of the
+ * following day.
+ */
+public class TimeSlotTable {
+
+  private static final int LAST_MILLIS_OF_DAY =
+      (int) EpochDay.MILLIS_PER_DAY - 1;
+
+  private int[] starts;
+
+  private int[] ends;
+
+  private TimeSlotTable(long[] theSlots, int aNumberOfSlots) {
+    Arrays.sort(theSlots, 0, aNumberOfSlots);
+    starts = new int[aNumberOfSlots];
+    ends = new int[aNumberOfSlots];
+    int aSize = 0;
+    for (int anIndex = 0; anIndex < aNumberOfSlots; anIndex++) {
+      int aStart = (int) (theSlots[anIndex] >> 32);
+      int anEnd = (int) theSlots[anIndex];
+      if (aSize > 0 && aStart <= ends[aSize - 1] + 1) {
+        ends[aSize - 1] = Math.max(ends[aSize - 1], anEnd);
+      } else {
+        starts[aSize] = aStart;
+        ends[aSize] = anEnd;
+        aSize++;
+      }
+    }
+    starts = Arrays.copyOf(starts, aSize);
+    ends = Arrays.copyOf(ends, aSize);
+  }
+
+  public static TimeSlotTable sameDayOf(TimeSpan[] theTimeSpans) {
+    long[] slots = new long[theTimeSpans.length];
+    for (int anIndex = 0; anIndex < theTimeSpans.length; anIndex++) {
+      TimeSpan aTimeSpan = theTimeSpans[anIndex];
+      slots[anIndex] = slot(
+          aTimeSpan.startingMillisOfDay(),
+          aTimeSpan.endsNextDay() ?
+              LAST_MILLIS_OF_DAY : aTimeSpan.endingMillisOfDay());
+    }
+    return new TimeSlotTable(slots, slots.length);
+  }
+
+  public static TimeSlotTable nextDayOf(TimeSpan[] theTimeSpans) {
+    long[] slots = new long[theTimeSpans.length];
+    int aNumberOfSlots = 0;
+    for (TimeSpan aTimeSpan : theTimeSpans) {
+      if (aTimeSpan.endsNextDay()) {
+        slots[aNumberOfSlots++] = slot(0, aTimeSpan.endingMillisOfDay());
+      }
+    }
+    return new TimeSlotTable(slots, aNumberOfSlots);
+  }
+
+  private static long slot(int aStart, int anEnd) {
+    return ((long) aStart << 32) | (anEnd & 0xFFFFFFFFL);
+  }
+
+  public boolean includes(int aMillisOfDay) {
+    int aLowIndex = 0;
+    int aHighIndex = starts.length - 1;
+    while (aLowIndex <= aHighIndex) {
+      int aMiddleIndex = (aLowIndex + aHighIndex) >>> 1;
+      if (starts[aMiddleIndex] <= aMillisOfDay) {
+        if (aMillisOfDay <= ends[aMiddleIndex]) {
+          return true;
+        }
+        aLowIndex = aMiddleIndex + 1;
+      } else {
+        aHighIndex = aMiddleIndex - 1;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return starts.length == 0;
+  }
+
+  public int size() {
+    return starts.length;
+  }
+}
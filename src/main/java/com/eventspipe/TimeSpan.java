@@ -1,5 +1,7 @@
 package com.eventspipe;
 
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
 import org.joda.time.LocalTime;
 
 import com.eventspipe.ExpressionAssertion;
@@ -13,6 +15,10 @@ public class TimeSpan implements Comparable<TimeSpan> {
 
   private LocalTime endingTime;
 
+  private int startingMillisOfDay;
+
+  private int endingMillisOfDay;
+
   public TimeSpan(
       LocalTime aStartingTime, 
       LocalTime anEndingTime) {
@@ -23,6 +29,8 @@ public class TimeSpan implements Comparable<TimeSpan> {
           assertTrue();
     startingTime = aStartingTime;
     endingTime = anEndingTime;
+    startingMillisOfDay = aStartingTime.getMillisOfDay();
+    endingMillisOfDay = anEndingTime.getMillisOfDay();
   }
 
   public LocalTime startingTime() {
@@ -58,6 +66,63 @@ public class TimeSpan implements Comparable<TimeSpan> {
     return contains;
   }
 
+  public boolean includes(int aMillisOfDay) {
+    return startingMillisOfDay <= aMillisOfDay && 
+        aMillisOfDay <= endingMillisOfDay;
+  }
+
+  public int startingMillisOfDay() {
+    return startingMillisOfDay;
+  }
+
+  public int endingMillisOfDay() {
+    return endingMillisOfDay;
+  }
+
+  /*
+   * Occurrences are read to the second, like those built by on, so
+   * cursors and iterators agree. Evaluation keeps the milliseconds. The
+   * end counts from the starting day, past a day when it ends next day.
+   */
+  public long startingMillisOfOccurrence() {
+    return startingMillisOfDay - startingMillisOfDay % 1000;
+  }
+
+  public long endingMillisOfOccurrence() {
+    long anEndingMillis = endingMillisOfDay - endingMillisOfDay % 1000;
+    if (endsNextDay()) {
+      anEndingMillis += EpochDay.MILLIS_PER_DAY;
+    }
+    return anEndingMillis;
+  }
+
+  public boolean endsNextDay() {
+    return endingTime.isBefore(startingTime) || 
+        endingTime.isEqual(startingTime);
+  }
+
+  public DateTimeSpan on(LocalDate aDate) {
+    LocalDate anEndingDate = aDate;
+    if (endsNextDay()) {
+      anEndingDate = anEndingDate.plusDays(1);
+    }
+    return new DateTimeSpan(
+        new LocalDateTime(
+            aDate.getYear(),
+            aDate.getMonthOfYear(),
+            aDate.getDayOfMonth(),
+            startingTime.getHourOfDay(),
+            startingTime.getMinuteOfHour(),
+            startingTime.getSecondOfMinute()),
+        new LocalDateTime(
+            anEndingDate.getYear(),
+            anEndingDate.getMonthOfYear(),
+            anEndingDate.getDayOfMonth(),
+            endingTime.getHourOfDay(),
+            endingTime.getMinuteOfHour(),
+            endingTime.getSecondOfMinute()));
+  }
+
   public static TimeSpan fromTo(
       LocalTime aStartingTime,
       LocalTime anEndingTime) {
@@ -0,0 +1,324 @@
+package com.eventspipe;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+/*
+ * Flat union of any number of expressions. and() appends to the same
+ * node instead of nesting, so evaluation never recurses deeper than one
+ * level no matter how many expressions are combined.
+ */
+public class UnionTimeExpression extends TimeExpression {
+
+  private TimeExpression[] timeExpressions;
+
+  private volatile Set<TimeExpression> members;
+
+  private volatile long membersVersion = -1;
+
+  public UnionTimeExpression(TimeExpression... theTimeExpressions) {
+    this(Arrays.asList(theTimeExpressions));
+  }
+
+  public UnionTimeExpression(List<TimeExpression> theTimeExpressions) {
+    List<TimeExpression> aListOfTimeExpressions = new ArrayList<>();
+    for (TimeExpression aTimeExpression : theTimeExpressions) {
+      if (aTimeExpression instanceof UnionTimeExpression) {
+        aListOfTimeExpressions.addAll(Arrays.asList(
+            ((UnionTimeExpression) aTimeExpression).timeExpressions));
+      } else if (aTimeExpression != NullTimeExpression.INSTANCE) {
+        aListOfTimeExpressions.add(aTimeExpression);
+      }
+    }
+    this.timeExpressions = aListOfTimeExpressions.toArray(
+        new TimeExpression[aListOfTimeExpressions.size()]);
+  }
+
+  @Override
+  public boolean evaluate(LocalDateTime aDateTime) {
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      if (aTimeExpression.evaluate(aDateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean evaluate(LocalDate aDate) {
+    return occursOn(aDate);
+  }
+
+  @Override
+  protected BitSet computeOccurringDaysOf(int aYear) {
+    return occurringDaysOf(Arrays.asList(timeExpressions), aYear);
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.covers(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay);
+    }
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      if (aTimeExpression.evaluate(anEpochDay)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.coversTimesOn(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay, aMillisOfDay);
+    }
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      if (aTimeExpression.evaluate(anEpochDay, aMillisOfDay)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    return evaluateAll(Arrays.asList(timeExpressions), theEpochMillis);
+  }
+
+  @Override
+  public TimeExpression and(TimeExpression anotherTimeExpression) {
+    return new UnionTimeExpression(this, anotherTimeExpression);
+  }
+
+  @Override
+  public List<TimeExpression> subexpressions() {
+    List<TimeExpression> subexpressions = new ArrayList<>();
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      subexpressions.addAll(aTimeExpression.subexpressions());
+    }
+    return subexpressions;
+  }
+
+  @Override
+  protected List<TimeExpression> childExpressions() {
+    return Arrays.asList(timeExpressions);
+  }
+
+  @Override
+  protected List<TimeExpression> leafExpressions() {
+    List<TimeExpression> leafExpressions = new ArrayList<>();
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      leafExpressions.addAll(aTimeExpression.leafExpressions());
+    }
+    return leafExpressions;
+  }
+
+  @Override
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDateTime.toLocalDate()))) {
+      DateTimeSpan anOccurrence = aSchedule.nextOccurrenceAfter(aDateTime);
+      if (anOccurrence != null) {
+        return anOccurrence;
+      }
+    }
+    return earliestOccurrenceAfter(leafExpressions(), aDateTime);
+  }
+
+  @Override
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    return latestOccurrenceBefore(leafExpressions(), aDateTime);
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> iterator() {
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.iterator());
+    }
+    return new BinaryTimeExpressionIterator(iterators);
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> iteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.iteratorFromTo(aDate, anotherDate));
+    }
+    return new BinaryTimeExpressionIterator(iterators);
+  }
+
+  @Override
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      iterators.add(aTimeExpression.descendingIteratorFromTo(aDate, anotherDate));
+    }
+    return new BinaryTimeExpressionIterator(
+        iterators, new DateTimeSpanComparator().reversed());
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursor());
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDate)) && 
+        aSchedule.covers(EpochDay.of(anotherDate))) {
+      return aSchedule.cursorFromTo(
+          EpochDay.of(aDate), EpochDay.of(anotherDate));
+    }
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursorFromTo(aDate, anotherDate));
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aTimeExpression : leafExpressions()) {
+      cursors.add(aTimeExpression.cursorBetween(aDateTime, anotherDateTime));
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  public TimeExpression[] timeExpressions() {
+    return timeExpressions.clone();
+  }
+
+  @Override
+  public LocalDateTime endingDateTime() {
+    LocalDateTime endingDateTime = timeExpressions[0].endingDateTime();
+    for (int anIndex = 1; anIndex < timeExpressions.length; anIndex++) {
+      LocalDateTime anEndingDateTime = timeExpressions[anIndex].endingDateTime();
+      if (endingDateTime.isBefore(anEndingDateTime)) {
+        endingDateTime = anEndingDateTime;
+      }
+    }
+    return endingDateTime;
+  }
+
+  @Override
+  public LocalDateTime startingDateTime() {
+    LocalDateTime startingDateTime = timeExpressions[0].startingDateTime();
+    for (int anIndex = 1; anIndex < timeExpressions.length; anIndex++) {
+      LocalDateTime aStartingDateTime = timeExpressions[anIndex].startingDateTime();
+      if (aStartingDateTime.isBefore(startingDateTime)) {
+        startingDateTime = aStartingDateTime;
+      }
+    }
+    return startingDateTime;
+  }
+
+  @Override
+  public int numberOfOcurringDays() {
+    int numberOfOcurringDays = 0;
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      numberOfOcurringDays = sumOf(
+          numberOfOcurringDays, aTimeExpression.numberOfOcurringDays());
+    }
+    return numberOfOcurringDays;
+  }
+
+  @Override
+  public int numberOfOccurrences() {
+    int numberOfOccurrences = 0;
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      numberOfOccurrences = sumOf(
+          numberOfOccurrences, aTimeExpression.numberOfOccurrences());
+    }
+    return numberOfOccurrences;
+  }
+
+  @Override
+  public long countBetween(
+      LocalDateTime aDateTime,
+      LocalDateTime anotherDateTime) {
+    long count = 0;
+    for (TimeExpression aTimeExpression : timeExpressions) {
+      count += aTimeExpression.countBetween(aDateTime, anotherDateTime);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean matches(TimeExpression aTimeExpression) {
+    return this.equals(aTimeExpression)
+        || this.members().contains(aTimeExpression);
+  }
+
+  /*
+   * Hashed again once one of the members changes, since ending a member
+   * changes its hash code.
+   */
+  private Set<TimeExpression> members() {
+    long aVersion = version();
+    if (membersVersion != aVersion) {
+      members = new HashSet<>(subexpressions());
+      membersVersion = aVersion;
+    }
+    return members;
+  }
+
+  @Override
+  public List<TimeExpression> asList() {
+    return this.subexpressions();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(timeExpressions);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    UnionTimeExpression other = (UnionTimeExpression) obj;
+    if (!Arrays.equals(timeExpressions, other.timeExpressions))
+      return false;
+    return true;
+  }
+
+  @Override
+  public JsonElement asJson() {
+    JsonArray timeExpressionsAsJson = new JsonArray();
+    for (TimeExpression timeExpression : subexpressions()) {
+      timeExpressionsAsJson.add(timeExpression.asJson());
+    }
+    return timeExpressionsAsJson;
+  }
+}
@@ -1,12 +1,13 @@
 package com.eventspipe;
 
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.collections.IteratorUtils;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
@@ -114,12 +115,36 @@ public class WeeklyTimeExpression extends TimeExpression {
 
   @Override
   public int numberOfOcurringDays() {
-    throw new UnsupportedOperationException();
+    int numberOfOcurringDays = 0;
+    for (DailyTimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      numberOfOcurringDays = sumOf(
+          numberOfOcurringDays, 
+          aDailyTimeExpression.numberOfOcurringDays());
+    }
+    return numberOfOcurringDays;
   }
   
   @Override
   public int numberOfOccurrences() {
-    throw new UnsupportedOperationException();
+    int numberOfOccurrences = 0;
+    for (DailyTimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      numberOfOccurrences = sumOf(
+          numberOfOccurrences, 
+          aDailyTimeExpression.numberOfOccurrences());
+    }
+    return numberOfOccurrences;
+  }
+
+  @Override
+  public long countBetween(
+      LocalDateTime aDateTime, 
+      LocalDateTime anotherDateTime) {
+    long count = 0;
+    for (DailyTimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      count += aDailyTimeExpression.countBetween(
+          aDateTime, anotherDateTime);
+    }
+    return count;
   }
   
   public boolean evaluate(LocalDateTime aDateTime) {
@@ -132,26 +157,84 @@ public class WeeklyTimeExpression extends TimeExpression {
   
   @Override
   public boolean evaluate(LocalDate aDate) {
-    boolean matches = false;
-    for (DailyTimeExpression aDailyTimeExpression : dailyTimeExpressions) {
-      matches |= aDailyTimeExpression.evaluate(aDate);
-    }
-    return matches;
+    return occursOn(aDate);
   }  
+
+  @Override
+  protected BitSet computeOccurringDaysOf(int aYear) {
+    return occurringDaysOf(dailyTimeExpressions, aYear);
+  }
   
-  @SuppressWarnings("unchecked")
+  @Override
+  public boolean evaluate(long anEpochDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.covers(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay);
+    }
+    for (TimeExpression aTimeExpression : dailyTimeExpressions) {
+      if (aTimeExpression.evaluate(anEpochDay)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean evaluate(long anEpochDay, int aMillisOfDay) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && aSchedule.coversTimesOn(anEpochDay)) {
+      return aSchedule.evaluate(anEpochDay, aMillisOfDay);
+    }
+    for (TimeExpression aTimeExpression : dailyTimeExpressions) {
+      if (aTimeExpression.evaluate(anEpochDay, aMillisOfDay)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public BitSet evaluateAll(LongBuffer theEpochMillis) {
+    return evaluateAll(dailyTimeExpressions, theEpochMillis);
+  }
+
+  @Override
+  protected List<TimeExpression> childExpressions() {
+    return new ArrayList<TimeExpression>(dailyTimeExpressions);
+  }
+
+  @Override
+  protected List<TimeExpression> leafExpressions() {
+    return new ArrayList<TimeExpression>(dailyTimeExpressions);
+  }
+
+  @Override
+  public DateTimeSpan nextOccurrenceAfter(LocalDateTime aDateTime) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDateTime.toLocalDate()))) {
+      DateTimeSpan anOccurrence = aSchedule.nextOccurrenceAfter(aDateTime);
+      if (anOccurrence != null) {
+        return anOccurrence;
+      }
+    }
+    return earliestOccurrenceAfter(leafExpressions(), aDateTime);
+  }
+
+  @Override
+  public DateTimeSpan previousOccurrenceBefore(LocalDateTime aDateTime) {
+    return latestOccurrenceBefore(leafExpressions(), aDateTime);
+  }
+
   @Override
   public Iterator<DateTimeSpan> iterator() {
     List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
     for (TimeExpression aDailyTimeExpression : dailyTimeExpressions) {
       iterators.add(aDailyTimeExpression.iterator());
     }
-    return IteratorUtils.collatedIterator(
-        new DateTimeSpanComparator(),
-        iterators.toArray(new Iterator[iterators.size()]));
+    return new BinaryTimeExpressionIterator(iterators);
   }
   
-  @SuppressWarnings("unchecked")
   @Override
   public Iterator<DateTimeSpan> iteratorFromTo(
       LocalDate aDate, LocalDate anotherDate) {
@@ -159,19 +242,54 @@ public class WeeklyTimeExpression extends TimeExpression {
     for (TimeExpression aDailyTimeExpression : dailyTimeExpressions) {
       iterators.add(aDailyTimeExpression.iteratorFromTo(aDate, anotherDate));
     }
-    return IteratorUtils.collatedIterator(
-        new DateTimeSpanComparator(),
-        iterators.toArray(new Iterator[iterators.size()]));
+    return new BinaryTimeExpressionIterator(iterators);
   }
 
   @Override
-  public boolean conflictsWith(DateTimeSpan aDateTimeSpan) {
-    for (DailyTimeExpression aDailyTimeExpression : dailyTimeExpressions) {
-      if (aDailyTimeExpression.conflictsWith(aDateTimeSpan)) {
-        return true;
-      }
+  public Iterator<DateTimeSpan> descendingIteratorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    List<Iterator<DateTimeSpan>> iterators = new ArrayList<>();
+    for (TimeExpression aTimeExpression : dailyTimeExpressions) {
+      iterators.add(aTimeExpression.descendingIteratorFromTo(aDate, anotherDate));
     }
-    return false;
+    return new BinaryTimeExpressionIterator(
+        iterators, new DateTimeSpanComparator().reversed());
+  }
+
+  @Override
+  public OccurrenceCursor cursor() {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      cursors.add(aDailyTimeExpression.cursor());
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorFromTo(
+      LocalDate aDate, LocalDate anotherDate) {
+    HyperperiodSchedule aSchedule = hyperperiodSchedule();
+    if (aSchedule != null && 
+        aSchedule.covers(EpochDay.of(aDate)) && 
+        aSchedule.covers(EpochDay.of(anotherDate))) {
+      return aSchedule.cursorFromTo(
+          EpochDay.of(aDate), EpochDay.of(anotherDate));
+    }
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      cursors.add(aDailyTimeExpression.cursorFromTo(aDate, anotherDate));
+    }
+    return new MergedOccurrenceCursor(cursors);
+  }
+
+  @Override
+  public OccurrenceCursor cursorBetween(
+      LocalDateTime aDateTime, LocalDateTime anotherDateTime) {
+    List<OccurrenceCursor> cursors = new ArrayList<>();
+    for (TimeExpression aDailyTimeExpression : dailyTimeExpressions) {
+      cursors.add(aDailyTimeExpression.cursorBetween(aDateTime, anotherDateTime));
+    }
+    return new MergedOccurrenceCursor(cursors);
   }
 
   @Override
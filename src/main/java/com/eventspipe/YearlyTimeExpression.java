@@ -1,7 +1,6 @@
 package com.eventspipe;
 
 import org.joda.time.Days;
-import org.joda.time.LocalDate;
 import org.joda.time.MonthDay;
 import org.joda.time.Years;
 
@@ -17,6 +16,14 @@ public class YearlyTimeExpression extends PeriodicTimeExpression {
 
   private MonthDay monthDay;
 
+  private int startingMonthIndex;
+
+  private int startingDayOfMonth;
+
+  private int monthOfYear;
+
+  private int dayOfMonth;
+
   public YearlyTimeExpression(
       Years years,
       MonthDay aMonthDay,
@@ -24,6 +31,12 @@ public class YearlyTimeExpression extends PeriodicTimeExpression {
       TimeSpan[] timePeriods) {
     super(years, theDuration, timePeriods);
     this.monthDay = aMonthDay;
+    this.startingMonthIndex = EpochDay.monthIndexOf(
+        theDuration.startingDate().getYear(), 
+        theDuration.startingDate().getMonthOfYear());
+    this.startingDayOfMonth = theDuration.startingDate().getDayOfMonth();
+    this.monthOfYear = aMonthDay.getMonthOfYear();
+    this.dayOfMonth = aMonthDay.getDayOfMonth();
   }
   
   public Days days() {
@@ -31,11 +44,22 @@ public class YearlyTimeExpression extends PeriodicTimeExpression {
   }
 
   @Override
-  public boolean doEvaluate(LocalDate aDate) {
-    return monthDay.equals(
-        new MonthDay(
-            aDate.getMonthOfYear(),
-            aDate.getDayOfMonth()));
+  protected long unitsSinceStart(long anEpochDay) {
+    return Math.floorDiv(EpochDay.monthIndexOf(anEpochDay), 12) - 
+        Math.floorDiv(startingMonthIndex, 12);
+  }
+
+  @Override
+  protected boolean doEvaluate(long anEpochDay) {
+    return Math.floorMod(EpochDay.monthIndexOf(anEpochDay), 12) + 1 == monthOfYear && 
+        EpochDay.dayOfMonthOf(anEpochDay) == dayOfMonth;
+  }
+
+  @Override
+  protected long epochDayAt(int aRepetition) {
+    return EpochDay.ofMonthDay(
+        startingMonthIndex + years().getYears() * 12 * aRepetition, 
+        startingDayOfMonth);
   }
 
   public MonthDay monthDay() {
@@ -2,10 +2,13 @@ package com.eventspipe;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Iterator;
+
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalTime;
 import org.joda.time.Months;
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.eventspipe.BinaryTimeExpression;
@@ -94,4 +97,77 @@ public class BinaryTimeExpressionTest {
             .from(firstFridaysEveryTwoMonthsAndEveryTwoDaysFromTodayUpToOneMonth
                 .asJson()));
   }
+
+  @Test
+  public void testNumberOfOccurrencesShouldNotOverflowWhenExpressionsNeverEnd() {
+    TimeExpression everyDayAndEveryTwoDays = 
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.ONE, 
+            new LocalDate(2017, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))).
+          and(TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.TWO, 
+            new LocalDate(2017, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0))));
+
+    assertEquals(Integer.MAX_VALUE, everyDayAndEveryTwoDays.numberOfOccurrences());
+    assertEquals(3, everyDayAndEveryTwoDays.countBetween(
+        new LocalDate(2026, 1, 1).toLocalDateTime(new LocalTime(0, 0)), 
+        new LocalDate(2026, 1, 2).toLocalDateTime(new LocalTime(23, 59))));
+  }
+
+  @Test
+  public void testIteratorFromToShouldOrderSameDayOccurrencesByTime() {
+    TimeExpression elevenNineAndTenOClock = 
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.ONE, 
+            new LocalDate(2017, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0))).
+          and(TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.ONE, 
+            new LocalDate(2017, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)))).
+          and(TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.ONE, 
+            new LocalDate(2017, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(10, 0), new LocalTime(11, 0))));
+
+    Iterator<DateTimeSpan> iterator = elevenNineAndTenOClock.iteratorFromTo(
+        new LocalDate(2026, 1, 1), new LocalDate(2026, 1, 2));
+
+    for (LocalDate aDate : new LocalDate[] {
+        new LocalDate(2026, 1, 1), new LocalDate(2026, 1, 2) }) {
+      for (int anHour = 9; anHour <= 11; anHour++) {
+        assertEquals(
+            aDate.toLocalDateTime(new LocalTime(anHour, 0)),
+            iterator.next().startingDateTime());
+      }
+    }
+  }
+
+  @Test
+  public void testAssertNoConflictsShouldFailWhenExpressionsConflict() {
+    DailyTimeExpression everyDayFromNineToTen = TimeExpression
+        .dailyEveryStartsOnEndsNever(Days.ONE, new LocalDate(2026, 1, 1),
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    DailyTimeExpression everyTwoDaysFromNineThirtyToEleven = TimeExpression
+        .dailyEveryStartsOnEndsNever(Days.TWO, new LocalDate(2026, 1, 2),
+            TimeSpan.fromTo(new LocalTime(9, 30), new LocalTime(11, 0)));
+    DailyTimeExpression everyDayFromTenToEleven = TimeExpression
+        .dailyEveryStartsOnEndsNever(Days.ONE, new LocalDate(2026, 1, 1),
+            TimeSpan.fromTo(new LocalTime(10, 0), new LocalTime(11, 0)));
+
+    new BinaryTimeExpression(everyDayFromNineToTen, everyDayFromTenToEleven).
+        assertNoConflicts();
+    TimeExpression conflictingExpression = new BinaryTimeExpression(
+        everyDayFromNineToTen, everyTwoDaysFromNineThirtyToEleven);
+    try {
+      conflictingExpression.assertNoConflicts();
+      Assert.fail();
+    } catch (TimeExpressionException exception) {
+      assertEquals(
+          BinaryTimeExpression.DATE_TIME_CONFLICT,
+          exception.getMessage());
+    }
+  }
 }
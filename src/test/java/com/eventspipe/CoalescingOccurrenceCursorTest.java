@@ -0,0 +1,74 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.junit.Test;
+
+public class CoalescingOccurrenceCursorTest {
+
+  @Test
+  public void testBusyIteratorShouldMergeOverlappingAndAdjacentOccurrences() {
+    TimeExpression mornings = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(9, 30), new LocalTime(10, 30)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+    TimeExpression lateMornings = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(0, 30), new LocalTime(2, 0)),
+        TimeSpan.fromTo(new LocalTime(10, 30), new LocalTime(12, 0)));
+
+    Iterator<DateTimeSpan> iterator = mornings.and(lateMornings).
+        busyIteratorBetween(
+            new LocalDateTime(2026, 1, 1, 0, 0),
+            new LocalDateTime(2026, 1, 2, 23, 59));
+
+    List<DateTimeSpan> busy = new ArrayList<>();
+    while (iterator.hasNext()) {
+      busy.add(iterator.next());
+    }
+    assertEquals(
+        Arrays.asList(
+            spanOf(1, 0, 30, 1, 2, 0),
+            spanOf(1, 9, 0, 1, 12, 0),
+            spanOf(1, 22, 0, 2, 2, 0),
+            spanOf(2, 9, 0, 2, 12, 0),
+            spanOf(2, 22, 0, 3, 1, 0)),
+        busy);
+  }
+
+  @Test
+  public void testBusyCursorOfNoOccurrencesShouldNotAdvance() {
+    TimeExpression once = TimeExpression.onFromUntil(
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertFalse(once.busyCursorBetween(
+        new LocalDateTime(2026, 1, 2, 0, 0),
+        new LocalDateTime(2026, 1, 3, 0, 0)).advance());
+  }
+
+  private static DateTimeSpan spanOf(
+      int aDay,
+      int aStartingHour,
+      int aStartingMinute,
+      int anEndingDay,
+      int anEndingHour,
+      int anEndingMinute) {
+    return DateTimeSpan.fromTo(
+        new LocalDateTime(2026, 1, aDay, aStartingHour, aStartingMinute),
+        new LocalDateTime(2026, 1, anEndingDay, anEndingHour, anEndingMinute));
+  }
+}
@@ -0,0 +1,93 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.junit.Test;
+
+public class ConflictSweepTest {
+
+  @Test
+  public void testConflictsBetweenShouldReportEachPairAtItsFirstOverlap() {
+    TimeExpression everyThreeDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.THREE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression everyFourDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.FOUR,
+        new LocalDate(2026, 1, 2),
+        TimeSpan.fromTo(new LocalTime(9, 30), new LocalTime(11, 0)));
+    TimeExpression overnight = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(9, 15)));
+    TimeExpression afternoons = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(14, 0), new LocalTime(15, 0)));
+    ConflictSweep aSweep = new ConflictSweep(
+        Arrays.asList(everyThreeDays, everyFourDays, overnight, afternoons));
+
+    assertEquals(
+        Arrays.asList(
+            new ConflictingPair(
+                conflictOf(everyThreeDays, 2026, 1, 10, 9, 0, 10, 10, 0),
+                conflictOf(everyFourDays, 2026, 1, 10, 9, 30, 10, 11, 0)),
+            new ConflictingPair(
+                conflictOf(everyThreeDays, 2026, 1, 4, 9, 0, 4, 10, 0),
+                conflictOf(overnight, 2026, 1, 3, 22, 0, 4, 9, 15))),
+        aSweep.conflictsBetween(
+            new LocalDateTime(2026, 1, 1, 0, 0),
+            new LocalDateTime(2026, 2, 1, 0, 0)));
+  }
+
+  @Test
+  public void testParallelConflictsBetweenShouldMatchTheSequentialSweep() {
+    List<TimeExpression> timeExpressions = new ArrayList<>();
+    for (int anIndex = 0; anIndex < 30; anIndex++) {
+      LocalTime aStartingTime = new LocalTime(anIndex % 24, 0);
+      timeExpressions.add(TimeExpression.dailyEveryStartsOnEndsNever(
+          Days.days(2 + anIndex % 11),
+          new LocalDate(2026, 1, 1).plusDays(anIndex),
+          TimeSpan.fromTo(aStartingTime, aStartingTime.plusHours(3))));
+      timeExpressions.add(TimeExpression.monthlyEveryOnStartsOnEndsNever(
+          Months.ONE,
+          DayOfMonth.valueOf(1 + anIndex),
+          MonthOfYear.on(1, 2026),
+          TimeSpan.fromTo(aStartingTime, aStartingTime.plusHours(5))));
+    }
+    ConflictSweep aSweep = new ConflictSweep(timeExpressions);
+    LocalDateTime aDateTime = new LocalDateTime(2026, 1, 1, 12, 0);
+    LocalDateTime anotherDateTime = new LocalDateTime(2027, 1, 1, 12, 0);
+
+    assertEquals(
+        aSweep.conflictsBetween(aDateTime, anotherDateTime),
+        aSweep.parallelConflictsBetween(aDateTime, anotherDateTime));
+  }
+
+  private static ExpressionConflict conflictOf(
+      TimeExpression aTimeExpression,
+      int aYear,
+      int aMonth,
+      int aDay,
+      int aStartingHour,
+      int aStartingMinute,
+      int anEndingDay,
+      int anEndingHour,
+      int anEndingMinute) {
+    return new ExpressionConflict(
+        aTimeExpression,
+        DateTimeSpan.fromTo(
+            new LocalDateTime(aYear, aMonth, aDay, aStartingHour, aStartingMinute),
+            new LocalDateTime(
+                aYear, aMonth, anEndingDay, anEndingHour, anEndingMinute)));
+  }
+}
@@ -6,7 +6,10 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import org.joda.time.DateTimeZone;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
@@ -1476,4 +1479,204 @@ public class DailyTimeExpressionTest {
 
     Assert.assertFalse(iterator.hasNext());
   }  
+
+  @Test
+  public void testIteratorFromToShouldSeekWhenExpressionStartedLongBefore() {
+    LocalDate januaryTheFirstOf2017 = new LocalDate(2017, 1, 1);
+    DailyTimeExpression everyThreeDaysSince2017 = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.THREE, 
+        januaryTheFirstOf2017, 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    Iterator<DateTimeSpan> iterator = 
+        everyThreeDaysSince2017.iteratorFromTo(
+            new LocalDate(2026, 10, 18), new LocalDate(2026, 10, 26));
+
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 10, 20),
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 10, 23),
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 10, 26),
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testOccurrenceAtAndOrdinalOf() {
+    LocalDate januaryTheFirstOf2017 = new LocalDate(2017, 1, 1);
+    DailyTimeExpression everyTwoDaysSince2017 = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO, 
+        januaryTheFirstOf2017, 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(15, 0), new LocalTime(16, 0)));
+
+    DateTimeSpan occurrence = everyTwoDaysSince2017.occurrenceAt(5001);
+
+    assertEquals(
+        januaryTheFirstOf2017.plusDays(5000).toLocalDateTime(new LocalTime(15, 0)),
+        occurrence.startingDateTime());
+    assertEquals(5001, 
+        everyTwoDaysSince2017.ordinalOf(occurrence.startingDateTime()));
+    assertEquals(5002, 
+        everyTwoDaysSince2017.ordinalOf(
+            januaryTheFirstOf2017.plusDays(5000).toLocalDateTime(new LocalTime(17, 0))));
+    assertEquals(5002, 
+        everyTwoDaysSince2017.ordinalOf(
+            januaryTheFirstOf2017.plusDays(5001).toLocalDateTime(new LocalTime(8, 0))));
+    assertEquals(0, 
+        everyTwoDaysSince2017.ordinalOf(
+            januaryTheFirstOf2017.minusDays(10).toLocalDateTime(new LocalTime(8, 0))));
+  }
+
+  @Test
+  public void testFillOccurrences() {
+    LocalDate januaryTheFirstOf2017 = new LocalDate(2017, 1, 1);
+    DailyTimeExpression everyDaySince2017 = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE, 
+        januaryTheFirstOf2017, 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+    LocalDateTime from = new LocalDateTime(2026, 10, 18, 9, 30);
+    LocalDateTime to = new LocalDateTime(2026, 10, 20, 9, 0);
+    long[] starts = new long[5];
+    long[] ends = new long[5];
+
+    assertEquals(4, everyDaySince2017.fillOccurrences(from, to, starts, ends, 1));
+    assertEquals(
+        new LocalDateTime(2026, 10, 18, 22, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        starts[1]);
+    assertEquals(
+        new LocalDateTime(2026, 10, 19, 1, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        ends[1]);
+    assertEquals(
+        new LocalDateTime(2026, 10, 20, 9, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        starts[4]);
+
+    OccurrenceCursor cursor = everyDaySince2017.cursorBetween(from, to);
+    assertEquals(3, cursor.fill(starts, ends, 2));
+    assertEquals(
+        new LocalDateTime(2026, 10, 19, 22, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        starts[4]);
+    assertEquals(1, cursor.fill(starts, ends, 0));
+    assertEquals(
+        new LocalDateTime(2026, 10, 20, 9, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        starts[0]);
+    assertEquals(0, cursor.fill(starts, ends, 0));
+  }
+
+  @Test
+  public void testParallelOccurrencesShouldMatchIterator() {
+    LocalDate januaryTheFirstOf2017 = new LocalDate(2017, 1, 1);
+    DailyTimeExpression everyThreeDaysSince2017 = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.THREE, 
+        januaryTheFirstOf2017, 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+    LocalDateTime from = new LocalDateTime(2020, 1, 1, 0, 0);
+    LocalDateTime to = new LocalDateTime(2026, 1, 1, 0, 0);
+
+    List<DateTimeSpan> occurrences = 
+        everyThreeDaysSince2017.occurrences(from, to).parallel().
+          collect(Collectors.toList());
+
+    assertEquals(everyThreeDaysSince2017.countBetween(from, to), occurrences.size());
+    assertEquals(
+        occurrences.size(),
+        everyThreeDaysSince2017.occurrences(from, to).spliterator().
+          getExactSizeIfKnown());
+    Iterator<DateTimeSpan> iterator = everyThreeDaysSince2017.iteratorFromTo(
+        from.toLocalDate(), to.toLocalDate());
+    for (DateTimeSpan anOccurrence : occurrences) {
+      assertEquals(iterator.next(), anOccurrence);
+    }
+  }
+
+  @Test
+  public void testNextOccurrenceAfterAndPreviousOccurrenceBefore() {
+    DailyTimeExpression everyThreeDays = 
+      DailyTimeExpression.dailyEveryStartsOnEndsOn(
+        Days.THREE, 
+        new LocalDate(2017, 1, 1), 
+        new LocalDate(2026, 12, 31),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+
+    assertEquals(
+        new LocalDateTime(2026, 10, 20, 22, 0), 
+        everyThreeDays.nextOccurrenceAfter(
+            new LocalDateTime(2026, 10, 20, 9, 0)).startingDateTime());
+    assertEquals(
+        new LocalDateTime(2026, 10, 23, 9, 0), 
+        everyThreeDays.nextOccurrenceAfter(
+            new LocalDateTime(2026, 10, 21, 0, 0)).startingDateTime());
+    assertEquals(
+        new LocalDateTime(2026, 10, 20, 9, 0), 
+        everyThreeDays.previousOccurrenceBefore(
+            new LocalDateTime(2026, 10, 20, 22, 0)).startingDateTime());
+    assertEquals(
+        new LocalDateTime(2017, 1, 1, 9, 0), 
+        everyThreeDays.nextOccurrenceAfter(
+            new LocalDateTime(2016, 1, 1, 0, 0)).startingDateTime());
+    assertEquals(null, everyThreeDays.previousOccurrenceBefore(
+        new LocalDateTime(2017, 1, 1, 9, 0)));
+    assertEquals(null, everyThreeDays.nextOccurrenceAfter(
+        new LocalDateTime(2027, 1, 1, 0, 0)));
+  }
+
+  @Test
+  public void testDescendingIteratorFromTo() {
+    DailyTimeExpression everyThreeDays = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.THREE, 
+        new LocalDate(2017, 1, 1), 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+
+    Iterator<DateTimeSpan> iterator = everyThreeDays.descendingIteratorFromTo(
+        new LocalDate(2026, 10, 19), new LocalDate(2026, 10, 25));
+
+    assertEquals(new LocalDateTime(2026, 10, 23, 22, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2026, 10, 23, 9, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2026, 10, 20, 22, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2026, 10, 20, 9, 0), iterator.next().startingDateTime());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testEvaluateShouldMatchSpansCrossingMidnightOnTheDayTheyStart() {
+    DailyTimeExpression everyTwoDays = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO, 
+        new LocalDate(2026, 10, 18), 
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)));
+
+    assertTrue(everyTwoDays.evaluate(new LocalDateTime(2026, 10, 18, 23, 0)));
+    assertTrue(everyTwoDays.evaluate(new LocalDateTime(2026, 10, 19, 0, 30)));
+    assertFalse(everyTwoDays.evaluate(new LocalDateTime(2026, 10, 19, 23, 0)));
+    assertFalse(everyTwoDays.evaluate(new LocalDateTime(2026, 10, 20, 0, 30)));
+    assertFalse(everyTwoDays.evaluate(new LocalDateTime(2026, 10, 18, 0, 30)));
+  }
+
+  @Test
+  public void testEvaluateShouldForgetOccurringDaysWhenEndingChanges() {
+    DailyTimeExpression everyDay = 
+      DailyTimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE, 
+        new LocalDate(2026, 1, 1), 
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertTrue(everyDay.evaluate(new LocalDate(2026, 10, 19)));
+
+    everyDay.endingOn(new LocalDateTime(2026, 10, 18, 10, 0));
+
+    assertTrue(everyDay.evaluate(new LocalDate(2026, 10, 18)));
+    assertFalse(everyDay.evaluate(new LocalDate(2026, 10, 19)));
+  }
 }
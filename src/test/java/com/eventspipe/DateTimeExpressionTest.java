@@ -93,5 +93,27 @@ public class DateTimeExpressionTest {
 
     assertEquals(todayTimeExpression,
         DateTimeExpression.from(todayTimeExpressionAsString));
-  }  
+  }
+
+  @Test
+  public void testCursorShouldReadTheDateLikeTheIterator() {
+    LocalDate aDate = new LocalDate(2026, 3, 1);
+    TimeExpression aTimeExpression = TimeExpression.onFromUntil(
+        aDate,
+        TimeSpan.fromTo(
+            new LocalTime(9, 0, 0, 250), new LocalTime(10, 30, 15, 750)));
+
+    Iterator<DateTimeSpan> occurrences =
+        new OccurrenceCursorIterator(aTimeExpression.cursor());
+
+    assertEquals(aTimeExpression.iterator().next(), occurrences.next());
+    assertFalse(occurrences.hasNext());
+    assertTrue(aTimeExpression.cursorFromTo(aDate, aDate).advance());
+    assertFalse(aTimeExpression.cursorFromTo(
+        aDate.plusDays(1), aDate.plusDays(1)).advance());
+    assertTrue(aTimeExpression.and(TimeExpression.onFromUntil(
+        aDate.plusDays(1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)))).
+      cursor().advance());
+  }
 }
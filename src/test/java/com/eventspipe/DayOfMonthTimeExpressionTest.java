@@ -525,4 +525,31 @@ public class DayOfMonthTimeExpressionTest {
         .evaluate(secondDayOfFirstMonth.plusMonths(5)));
     assertTrue(secondDayOfEveryMonthTimeExpression.evaluate(timeSpanEndingDate));
   }
+  
+  @Test
+  public void testIteratorFromToShouldSeekToFirstAlignedMonth() {
+    DayOfMonthTimeExpression thirdDayEveryTwoMonthsSince2015 = 
+        PeriodicTimeExpression.monthlyEveryOnStartsOnEndsNever(
+            Months.TWO, 
+            DayOfMonth.valueOf(3),
+            MonthOfYear.on(1, 2015),
+            TimeSpan.fromTo(
+                new LocalTime(9, 0),
+                new LocalTime(10, 0)));
+
+    Iterator<DateTimeSpan> iterator = 
+        thirdDayEveryTwoMonthsSince2015.iteratorFromTo(
+            new LocalDate(2026, 3, 4), new LocalDate(2026, 9, 30));
+
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 5, 3), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 7, 3), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 9, 3), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertFalse(iterator.hasNext());
+  }
 }
@@ -871,4 +871,49 @@ public class DayOfWeekInWeekOfMonthTimeExpressionTest {
     
     Assert.assertFalse(iterator.hasNext());
   }
+  
+  @Test
+  public void testIteratorFromToShouldComputeTargetMonthWhenExpressionStartedLongBefore() {
+    DayOfWeekInWeekOfMonthTimeExpression thirdWednesdayEveryMonthSince2015 = 
+        DayOfWeekInWeekOfMonthTimeExpression.monthlyEveryOnStartsOnEndsNever(
+            Months.ONE, 
+            DayOfWeek.WEDNESDAY, 
+            WeekOfMonth.THIRD, 
+            MonthOfYear.on(1, 2015), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    Iterator<DateTimeSpan> iterator = 
+        thirdWednesdayEveryMonthSince2015.iteratorFromTo(
+            new LocalDate(2026, 10, 18), new LocalDate(2026, 12, 31));
+
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 10, 21), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 11, 18), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(new LocalDate(2026, 12, 16), 
+        iterator.next().startingDateTime().toLocalDate());
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testEvaluateEpochDay() {
+    DayOfWeekInWeekOfMonthTimeExpression lastFridays = 
+        TimeExpression.monthlyEveryOnStartsOnEndsNever(
+            Months.ONE, 
+            DayOfWeek.FRIDAY, 
+            WeekOfMonth.LAST, 
+            MonthOfYear.on(1, 2017), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertTrue(lastFridays.evaluate(EpochDay.of(2026, 10, 30)));
+    assertFalse(lastFridays.evaluate(EpochDay.of(2026, 10, 23)));
+    assertFalse(lastFridays.evaluate(EpochDay.of(2016, 12, 30)));
+    assertTrue(lastFridays.evaluate(
+        EpochDay.of(2026, 10, 30), new LocalTime(9, 30).getMillisOfDay()));
+    assertFalse(lastFridays.evaluate(
+        EpochDay.of(2026, 10, 30), new LocalTime(10, 30).getMillisOfDay()));
+  }
 }
@@ -0,0 +1,82 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.junit.Test;
+
+public class DifferenceTimeExpressionTest {
+
+  private static TimeExpression businessHoursExceptClosures() {
+    TimeExpression businessHours = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 12, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)));
+    TimeExpression closures = TimeExpression.onFromUntil(
+        new LocalDate(2026, 12, 24),
+        TimeSpan.fromTo(new LocalTime(13, 0), new LocalTime(18, 0))).
+        and(TimeExpression.onFromUntil(
+            new LocalDate(2026, 12, 25),
+            TimeSpan.fromTo(new LocalTime(8, 0), new LocalTime(18, 0))));
+    return businessHours.except(closures);
+  }
+
+  @Test
+  public void testIteratorFromToShouldSkipClosures() {
+    Iterator<DateTimeSpan> iterator = businessHoursExceptClosures().
+        iteratorFromTo(new LocalDate(2026, 12, 23), new LocalDate(2026, 12, 26));
+
+    List<DateTimeSpan> occurrences = new ArrayList<>();
+    while (iterator.hasNext()) {
+      occurrences.add(iterator.next());
+    }
+    assertEquals(
+        Arrays.asList(
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 12, 23, 9, 0),
+                new LocalDateTime(2026, 12, 23, 17, 0)),
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 12, 24, 9, 0),
+                new LocalDateTime(2026, 12, 24, 13, 0)),
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 12, 26, 9, 0),
+                new LocalDateTime(2026, 12, 26, 17, 0))),
+        occurrences);
+  }
+
+  @Test
+  public void testOccurrencesAroundClosuresShouldSkipThem() {
+    TimeExpression aTimeExpression = businessHoursExceptClosures();
+
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 12, 26, 9, 0),
+            new LocalDateTime(2026, 12, 26, 17, 0)),
+        aTimeExpression.nextOccurrenceAfter(new LocalDateTime(2026, 12, 24, 9, 0)));
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 12, 24, 9, 0),
+            new LocalDateTime(2026, 12, 24, 13, 0)),
+        aTimeExpression.previousOccurrenceBefore(
+            new LocalDateTime(2026, 12, 26, 9, 0)));
+    assertFalse(aTimeExpression.conflictsWith(DateTimeSpan.fromTo(
+        new LocalDateTime(2026, 12, 25, 10, 0),
+        new LocalDateTime(2026, 12, 25, 11, 0))));
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 12, 24, 9, 0),
+            new LocalDateTime(2026, 12, 24, 13, 0)),
+        aTimeExpression.firstConflictWith(TimeExpression.onFromUntil(
+            new LocalDate(2026, 12, 24),
+            TimeSpan.fromTo(new LocalTime(12, 0), new LocalTime(14, 0)))));
+  }
+}
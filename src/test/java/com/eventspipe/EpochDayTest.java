@@ -0,0 +1,46 @@
+package com.eventspipe;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDate;
+
+import junit.framework.TestCase;
+
+public class EpochDayTest extends TestCase {
+
+  public void testOf() {
+    assertEquals(0, EpochDay.of(1970, 1, 1));
+    assertEquals(-1, EpochDay.of(1969, 12, 31));
+    assertEquals(11016, EpochDay.of(2000, 2, 29));
+    assertEquals(EpochDay.of(2026, 10, 18), 
+        EpochDay.of(new LocalDate(2026, 10, 18)));
+  }
+
+  public void testDayOfWeek() {
+    assertEquals(DateTimeConstants.THURSDAY, EpochDay.dayOfWeek(0));
+    assertEquals(DateTimeConstants.WEDNESDAY, EpochDay.dayOfWeek(-1));
+    assertEquals(DateTimeConstants.SUNDAY, 
+        EpochDay.dayOfWeek(EpochDay.of(2026, 10, 18)));
+  }
+
+  public void testOfMonthDayShouldClampToLengthOfMonth() {
+    assertEquals(EpochDay.of(2015, 2, 28), 
+        EpochDay.ofMonthDay(EpochDay.monthIndexOf(2015, 2), 31));
+    assertEquals(EpochDay.of(2016, 2, 29), 
+        EpochDay.ofMonthDay(EpochDay.monthIndexOf(2016, 2), 31));
+    assertEquals(EpochDay.of(2015, 4, 30), 
+        EpochDay.ofMonthDay(EpochDay.monthIndexOf(2015, 4), 31));
+  }
+
+  public void testMonthIndexAndDayOfMonthOf() {
+    assertEquals(EpochDay.monthIndexOf(1970, 1), EpochDay.monthIndexOf(0L));
+    assertEquals(1, EpochDay.dayOfMonthOf(0L));
+    assertEquals(EpochDay.monthIndexOf(1969, 12), EpochDay.monthIndexOf(-1L));
+    assertEquals(31, EpochDay.dayOfMonthOf(-1L));
+    assertEquals(EpochDay.monthIndexOf(2000, 2), 
+        EpochDay.monthIndexOf(EpochDay.of(2000, 2, 29)));
+    assertEquals(29, EpochDay.dayOfMonthOf(EpochDay.of(2000, 2, 29)));
+    assertEquals(EpochDay.monthIndexOf(2026, 10), 
+        EpochDay.monthIndexOf(EpochDay.of(2026, 10, 18)));
+    assertEquals(18, EpochDay.dayOfMonthOf(EpochDay.of(2026, 10, 18)));
+  }
+}
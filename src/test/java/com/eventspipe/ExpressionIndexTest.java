@@ -0,0 +1,103 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.MonthDay;
+import org.joda.time.Months;
+import org.joda.time.Weeks;
+import org.joda.time.Years;
+import org.junit.Test;
+
+public class ExpressionIndexTest {
+
+  @Test
+  public void testActiveAtShouldAnswerTheExpressionsThatEvaluate() {
+    TimeExpression everyDay = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)));
+    TimeExpression everyMonday = TimeExpression.weeklyFromToStartsOnEndsNever(
+        new LocalDate(2026, 1, 1),
+        Arrays.asList(DayOfWeekOfWeeklyTimeExpression.onEveryDuring(
+            DayOfWeek.valueOf(1),
+            Weeks.ONE,
+            TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(2, 0)))));
+    TimeExpression everyFifteenth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE,
+        DayOfMonth.valueOf(15),
+        MonthOfYear.on(1, 2026),
+        TimeSpan.fromTo(new LocalTime(8, 0), new LocalTime(9, 30)));
+    TimeExpression everyNewYear = TimeExpression.yearlyEveryOnStartsOnEndsNever(
+        Years.ONE,
+        new MonthDay(1, 1),
+        2026,
+        TimeSpan.fromTo(new LocalTime(0, 0), new LocalTime(23, 0)));
+    TimeExpression once = TimeExpression.onFromUntil(
+        new LocalDate(2026, 6, 16),
+        TimeSpan.fromTo(new LocalTime(1, 0), new LocalTime(3, 0)));
+    List<TimeExpression> timeExpressions = Arrays.asList(
+        everyDay, everyMonday, everyFifteenth, everyNewYear, once);
+
+    ExpressionIndex anIndex = new ExpressionIndex(timeExpressions);
+
+    assertEquals(5, anIndex.size());
+    assertEquals(
+        Arrays.asList(everyDay, everyFifteenth),
+        anIndex.activeAt(new LocalDateTime(2026, 6, 15, 9, 15)));
+    assertEquals(
+        Arrays.asList(everyMonday),
+        anIndex.activeAt(new LocalDateTime(2026, 6, 15, 23, 0)));
+    assertEquals(
+        Arrays.asList(once, everyMonday),
+        anIndex.activeAt(new LocalDateTime(2026, 6, 16, 1, 30)));
+    assertEquals(
+        Arrays.asList(everyDay, everyNewYear),
+        anIndex.activeAt(new LocalDateTime(2027, 1, 1, 10, 0)));
+    assertTrue(anIndex.activeAt(new LocalDateTime(2025, 12, 31, 10, 0)).isEmpty());
+
+    for (long anEpochDay = EpochDay.of(new LocalDate(2025, 12, 25));
+        anEpochDay < EpochDay.of(new LocalDate(2027, 1, 5));
+        anEpochDay++) {
+      for (int anHour = 0; anHour < 24; anHour += 3) {
+        int aMillisOfDay = anHour * 3600000 + 1800000;
+        List<TimeExpression> active = anIndex.activeAt(anEpochDay, aMillisOfDay);
+        for (TimeExpression aTimeExpression : timeExpressions) {
+          assertEquals(
+              aTimeExpression.evaluate(anEpochDay, aMillisOfDay),
+              active.contains(aTimeExpression));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testActiveAtShouldFollowExpressionsEndingAfterTheyWereAdded() {
+    TimeExpression everyDay = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)));
+    TimeExpression once = TimeExpression.onFromUntil(
+        new LocalDate(2026, 6, 16),
+        TimeSpan.fromTo(new LocalTime(1, 0), new LocalTime(3, 0)));
+    ExpressionIndex anIndex = new ExpressionIndex(Arrays.asList(everyDay, once));
+
+    everyDay.endingOn(new LocalDateTime(2026, 3, 1, 0, 0));
+    once.endingOn(new LocalDateTime(2026, 6, 16, 5, 0));
+
+    assertEquals(
+        Arrays.asList(everyDay),
+        anIndex.activeAt(new LocalDateTime(2026, 2, 27, 10, 0)));
+    assertTrue(anIndex.activeAt(new LocalDateTime(2026, 6, 15, 10, 0)).isEmpty());
+    assertEquals(
+        Arrays.asList(once),
+        anIndex.activeAt(new LocalDateTime(2026, 6, 16, 4, 0)));
+  }
+}
@@ -0,0 +1,129 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.junit.Test;
+
+public class ExpressionRangeIndexTest {
+
+  @Test
+  public void testOccurringFromToShouldAnswerExpressionsOccurringInTheRange() {
+    TimeSpan aTimeSpan = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    TimeExpression everyTenDaysInJanuary = TimeExpression.dailyEveryStartsOnEndsOn(
+        Days.days(10), new LocalDate(2026, 1, 1), new LocalDate(2026, 1, 31), aTimeSpan);
+    TimeExpression everyFifteenth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE, DayOfMonth.valueOf(15), MonthOfYear.on(3, 2026), aTimeSpan);
+    TimeExpression once = TimeExpression.onFromUntil(new LocalDate(2026, 2, 3), aTimeSpan);
+    TimeExpression either = once.and(TimeExpression.onFromUntil(
+        new LocalDate(2026, 5, 5), aTimeSpan));
+
+    ExpressionRangeIndex anIndex = new ExpressionRangeIndex(
+        Arrays.asList(everyTenDaysInJanuary, everyFifteenth, once, either));
+
+    assertEquals(5, anIndex.size());
+    assertEquals(
+        Arrays.asList(everyTenDaysInJanuary),
+        anIndex.occurringFromTo(new LocalDate(2026, 1, 10), new LocalDate(2026, 1, 12)));
+    assertTrue(anIndex.occurringFromTo(
+        new LocalDate(2026, 1, 12), new LocalDate(2026, 1, 20)).isEmpty());
+    assertEquals(
+        new HashSet<TimeExpression>(Arrays.asList(once, either)),
+        new HashSet<TimeExpression>(anIndex.occurringFromTo(
+            new LocalDate(2026, 2, 1), new LocalDate(2026, 2, 7))));
+    assertEquals(
+        new HashSet<TimeExpression>(Arrays.asList(everyFifteenth, either)),
+        new HashSet<TimeExpression>(anIndex.occurringFromTo(
+            new LocalDate(2026, 5, 1), new LocalDate(2026, 5, 31))));
+  }
+
+  @Test
+  public void testOccurringFromToShouldMatchEvaluatingEveryDay() {
+    List<TimeExpression> timeExpressions = new ArrayList<>();
+    for (int anIndex = 0; anIndex < 200; anIndex++) {
+      LocalDate aStartingDate = new LocalDate(2026, 1, 1).plusDays(anIndex * 3);
+      timeExpressions.add(TimeExpression.dailyEveryStartsOnEndsOn(
+          Days.days(1 + anIndex % 9),
+          aStartingDate,
+          aStartingDate.plusDays(9 * (1 + anIndex % 5)),
+          TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))));
+    }
+    ExpressionRangeIndex anIndex = new ExpressionRangeIndex(timeExpressions);
+
+    for (int aDay = 0; aDay < 700; aDay += 5) {
+      LocalDate aDate = new LocalDate(2026, 1, 1).plusDays(aDay);
+      LocalDate anotherDate = aDate.plusDays(1 + aDay % 4);
+      List<TimeExpression> expected = new ArrayList<>();
+      for (TimeExpression aTimeExpression : timeExpressions) {
+        for (LocalDate aDayInRange = aDate;
+            !aDayInRange.isAfter(anotherDate);
+            aDayInRange = aDayInRange.plusDays(1)) {
+          if (aTimeExpression.evaluate(aDayInRange)) {
+            expected.add(aTimeExpression);
+            break;
+          }
+        }
+      }
+      assertEquals(
+          new HashSet<TimeExpression>(expected),
+          new HashSet<TimeExpression>(anIndex.occurringFromTo(aDate, anotherDate)));
+    }
+  }
+
+  @Test
+  public void testConflictingWithShouldFindOccurrencesInsideTheSpan() {
+    TimeExpression fromNineToTen = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression overnight = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(8, 30)));
+    TimeExpression fromElevenToNoon = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0)));
+    TimeExpression everyFifteenth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE,
+        DayOfMonth.valueOf(15),
+        MonthOfYear.on(3, 2026),
+        TimeSpan.fromTo(new LocalTime(8, 0), new LocalTime(18, 0)));
+    List<TimeExpression> timeExpressions = Arrays.asList(
+        fromNineToTen, overnight, fromElevenToNoon, everyFifteenth);
+    ExpressionRangeIndex anIndex = new ExpressionRangeIndex(timeExpressions);
+    DateTimeSpan aBooking = DateTimeSpan.fromTo(
+        new LocalDateTime(2026, 1, 2, 8, 0),
+        new LocalDateTime(2026, 1, 2, 11, 0));
+
+    assertTrue(fromNineToTen.conflictsWith(aBooking));
+    assertFalse(fromElevenToNoon.conflictsWith(aBooking));
+    List<ExpressionConflict> expected = Arrays.asList(
+        new ExpressionConflict(
+            fromNineToTen,
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 1, 2, 9, 0),
+                new LocalDateTime(2026, 1, 2, 10, 0))),
+        new ExpressionConflict(
+            overnight,
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 1, 1, 22, 0),
+                new LocalDateTime(2026, 1, 2, 8, 30))));
+    assertEquals(expected, anIndex.conflictingWith(aBooking));
+    assertEquals(expected, anIndex.parallelConflictingWith(aBooking));
+    assertTrue(anIndex.conflictingWith(DateTimeSpan.fromTo(
+        new LocalDateTime(2026, 1, 3, 10, 0),
+        new LocalDateTime(2026, 1, 3, 11, 0))).isEmpty());
+  }
+}
@@ -0,0 +1,147 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.junit.Test;
+
+public class HyperperiodScheduleTest {
+
+  private TimeExpression everyThreeDays =
+      TimeExpression.dailyEveryStartsOnEndsNever(
+          Days.THREE,
+          new LocalDate(2026, 1, 1),
+          TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+  private TimeExpression everySevenDays =
+      TimeExpression.dailyEveryStartsOnEndsNever(
+          Days.SEVEN,
+          new LocalDate(2026, 1, 5),
+          TimeSpan.fromTo(new LocalTime(23, 0), new LocalTime(1, 0)));
+
+  @Test
+  public void testCompileShouldRepeatEveryHyperperiodFromTheLatestStart() {
+    HyperperiodSchedule aSchedule = HyperperiodSchedule.compile(
+        Arrays.asList(everyThreeDays, everySevenDays));
+
+    assertNotNull(aSchedule);
+    long anAnchorEpochDay = EpochDay.of(new LocalDate(2026, 1, 5));
+    assertFalse(aSchedule.covers(anAnchorEpochDay - 1));
+    for (long anEpochDay = anAnchorEpochDay;
+        anEpochDay < anAnchorEpochDay + 3 * 21;
+        anEpochDay++) {
+      assertEquals(
+          everyThreeDays.evaluate(anEpochDay) || everySevenDays.evaluate(anEpochDay),
+          aSchedule.evaluate(anEpochDay));
+    }
+    assertTrue(aSchedule.evaluate(EpochDay.of(new LocalDate(2026, 1, 7))));
+    assertFalse(aSchedule.evaluate(EpochDay.of(new LocalDate(2026, 1, 8))));
+  }
+
+  @Test
+  public void testCompileShouldFallBackForMonthBasedExpressions() {
+    TimeExpression everyMonth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE,
+        DayOfMonth.valueOf(5),
+        MonthOfYear.on(1, 2026),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertNull(HyperperiodSchedule.compile(
+        Arrays.asList(everyThreeDays, everyMonth)));
+    assertNull(HyperperiodSchedule.compile(
+        Arrays.asList(everyThreeDays)));
+    assertNull(everyThreeDays.and(everyMonth).hyperperiodSchedule());
+  }
+
+  @Test
+  public void testUnionShouldEvaluateAndSeekThroughTheSchedule() {
+    TimeExpression union = everyThreeDays.and(everySevenDays);
+
+    assertNotNull(union.hyperperiodSchedule());
+    assertTrue(union.evaluate(new LocalDateTime(2026, 1, 5, 23, 30)));
+    assertTrue(union.evaluate(new LocalDateTime(2026, 1, 6, 0, 30)));
+    assertFalse(union.evaluate(new LocalDateTime(2026, 1, 6, 1, 30)));
+    assertTrue(union.evaluate(new LocalDateTime(2026, 1, 7, 9, 30)));
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 1, 12, 23, 0),
+            new LocalDateTime(2026, 1, 13, 1, 0)),
+        union.nextOccurrenceAfter(new LocalDateTime(2026, 1, 10, 10, 0)));
+
+    OccurrenceCursor aCursor = union.cursorFromTo(
+        new LocalDate(2026, 1, 5), new LocalDate(2026, 1, 7));
+    assertTrue(aCursor.advance());
+    assertEquals(
+        new LocalDateTime(2026, 1, 5, 23, 0).toDateTime(DateTimeZone.UTC).getMillis(),
+        aCursor.startEpochMillis());
+    assertTrue(aCursor.advance());
+    assertEquals(
+        new LocalDateTime(2026, 1, 7, 10, 0).toDateTime(DateTimeZone.UTC).getMillis(),
+        aCursor.endEpochMillis());
+    assertFalse(aCursor.advance());
+  }
+
+  @Test
+  public void testUnionShouldRecompileTheScheduleOnceAMemberEnds() {
+    TimeExpression everyTwoDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2024, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression union = everyTwoDays.and(
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE,
+            new LocalDate(2024, 1, 1),
+            TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0))));
+    assertEquals(
+        new LocalDateTime(2024, 6, 1, 9, 0),
+        union.nextOccurrenceAfter(
+            new LocalDateTime(2024, 5, 31, 23, 0)).startingDateTime());
+
+    everyTwoDays.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertEquals(
+        new LocalDateTime(2024, 6, 2, 11, 0),
+        union.nextOccurrenceAfter(
+            new LocalDateTime(2024, 5, 31, 23, 0)).startingDateTime());
+    assertFalse(union.evaluate(new LocalDateTime(2024, 6, 1, 9, 30)));
+  }
+
+  @Test
+  public void testUnionShouldKeepTheScheduleWhileItsMembersKeepTheirBounds() {
+    TimeExpression everyTwoDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2024, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression union = everyTwoDays.and(
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE,
+            new LocalDate(2024, 1, 1),
+            TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0))));
+    HyperperiodSchedule aSchedule = union.hyperperiodSchedule();
+
+    TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2024, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))).
+      endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertSame(aSchedule, union.hyperperiodSchedule());
+
+    everyTwoDays.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertNotSame(aSchedule, union.hyperperiodSchedule());
+  }
+}
@@ -0,0 +1,79 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.joda.time.Weeks;
+import org.junit.Test;
+
+public class IntersectionTimeExpressionTest {
+
+  private static TimeExpression mondaysOnTheFirst() {
+    TimeExpression mondays = TimeExpression.weeklyFromToStartsOnEndsNever(
+        new LocalDate(2026, 1, 1),
+        Arrays.asList(DayOfWeekOfWeeklyTimeExpression.onEveryDuring(
+            DayOfWeek.valueOf(1),
+            Weeks.ONE,
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)))));
+    TimeExpression firstOfTheMonth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE,
+        DayOfMonth.valueOf(1),
+        MonthOfYear.on(1, 2026),
+        TimeSpan.fromTo(new LocalTime(0, 0), new LocalTime(23, 59)));
+    return mondays.intersect(firstOfTheMonth);
+  }
+
+  @Test
+  public void testIteratorFromToShouldYieldMondaysThatAreAlsoTheFirstOfTheMonth() {
+    Iterator<DateTimeSpan> iterator = mondaysOnTheFirst().iteratorFromTo(
+        new LocalDate(2026, 1, 1), new LocalDate(2027, 3, 31));
+
+    List<DateTimeSpan> occurrences = new ArrayList<>();
+    while (iterator.hasNext()) {
+      occurrences.add(iterator.next());
+    }
+    assertEquals(
+        Arrays.asList(
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2026, 6, 1, 9, 0),
+                new LocalDateTime(2026, 6, 1, 17, 0)),
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2027, 2, 1, 9, 0),
+                new LocalDateTime(2027, 2, 1, 17, 0)),
+            DateTimeSpan.fromTo(
+                new LocalDateTime(2027, 3, 1, 9, 0),
+                new LocalDateTime(2027, 3, 1, 17, 0))),
+        occurrences);
+  }
+
+  @Test
+  public void testEvaluateShouldRequireBothExpressions() {
+    TimeExpression aTimeExpression = mondaysOnTheFirst();
+
+    assertTrue(aTimeExpression.evaluate(new LocalDateTime(2026, 6, 1, 10, 0)));
+    assertTrue(aTimeExpression.evaluate(new LocalDate(2026, 6, 1)));
+    assertFalse(aTimeExpression.evaluate(new LocalDateTime(2026, 6, 1, 8, 0)));
+    assertFalse(aTimeExpression.evaluate(new LocalDateTime(2026, 6, 8, 10, 0)));
+    assertFalse(aTimeExpression.evaluate(new LocalDateTime(2026, 7, 1, 10, 0)));
+    assertFalse(aTimeExpression.evaluate(new LocalDate(2026, 7, 1)));
+  }
+
+  @Test
+  public void testFromJsonStringShouldRestoreTheIntersection() {
+    TimeExpression aTimeExpression = mondaysOnTheFirst();
+
+    assertEquals(
+        aTimeExpression,
+        TimeExpression.fromJsonString(aTimeExpression.asJsonString()));
+  }
+}
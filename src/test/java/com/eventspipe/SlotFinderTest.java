@@ -0,0 +1,93 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.joda.time.Days;
+import org.joda.time.Duration;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.junit.Test;
+
+public class SlotFinderTest {
+
+  private TimeExpression meetings = TimeExpression.dailyEveryStartsOnEndsNever(
+      Days.ONE,
+      new LocalDate(2026, 1, 1),
+      TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+      TimeSpan.fromTo(new LocalTime(13, 0), new LocalTime(14, 0)));
+
+  private TimeExpression nightShifts = TimeExpression.dailyEveryStartsOnEndsNever(
+      Days.ONE,
+      new LocalDate(2026, 1, 1),
+      TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(8, 0)));
+
+  private TimeExpression lunches = TimeExpression.dailyEveryStartsOnEndsNever(
+      Days.ONE,
+      new LocalDate(2026, 1, 1),
+      TimeSpan.fromTo(new LocalTime(10, 30), new LocalTime(12, 30)));
+
+  @Test
+  public void testFirstFreeSlotsShouldAvoidEveryParticipant() {
+    SlotFinder aSlotFinder =
+        new SlotFinder(Arrays.asList(meetings, nightShifts, lunches));
+
+    assertEquals(
+        Arrays.asList(
+            spanOf(2, 8, 0, 2, 9, 0),
+            spanOf(2, 14, 0, 2, 15, 0),
+            spanOf(2, 15, 0, 2, 16, 0),
+            spanOf(2, 16, 0, 2, 17, 0)),
+        aSlotFinder.firstFreeSlots(
+            Duration.standardHours(1),
+            new LocalDateTime(2026, 1, 2, 0, 0),
+            new LocalDateTime(2026, 1, 3, 0, 0),
+            4));
+    assertTrue(aSlotFinder.firstFreeSlots(
+        Duration.standardHours(9),
+        new LocalDateTime(2026, 1, 2, 0, 0),
+        new LocalDateTime(2026, 1, 3, 0, 0),
+        4).isEmpty());
+  }
+
+  @Test
+  public void testFirstAvailableSlotsShouldFallInsideEveryParticipant() {
+    TimeExpression workingHours = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)));
+    TimeExpression afternoons = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(12, 0), new LocalTime(15, 0)),
+        TimeSpan.fromTo(new LocalTime(15, 0), new LocalTime(20, 0)));
+    SlotFinder aSlotFinder =
+        new SlotFinder(Arrays.asList(workingHours, afternoons));
+
+    assertEquals(
+        Arrays.asList(
+            spanOf(1, 12, 0, 1, 14, 0),
+            spanOf(1, 14, 0, 1, 16, 0),
+            spanOf(3, 12, 0, 3, 14, 0)),
+        aSlotFinder.firstAvailableSlots(
+            Duration.standardHours(2),
+            new LocalDateTime(2026, 1, 1, 0, 0),
+            new LocalDateTime(2026, 1, 5, 0, 0),
+            3));
+  }
+
+  private static DateTimeSpan spanOf(
+      int aDay,
+      int aStartingHour,
+      int aStartingMinute,
+      int anEndingDay,
+      int anEndingHour,
+      int anEndingMinute) {
+    return DateTimeSpan.fromTo(
+        new LocalDateTime(2026, 1, aDay, aStartingHour, aStartingMinute),
+        new LocalDateTime(2026, 1, anEndingDay, anEndingHour, anEndingMinute));
+  }
+}
@@ -0,0 +1,80 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.junit.Test;
+
+public class TimeExpressionCompilerTest {
+
+  @Test
+  public void testCompiledExpressionShouldEvaluateLikeTheTree() {
+    TimeExpression aTimeExpression = TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE,
+            new LocalDate(2026, 1, 1),
+            TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(2, 0))).
+        and(TimeExpression.monthlyEveryOnStartsOnEndsNever(
+            Months.ONE,
+            DayOfMonth.valueOf(15),
+            MonthOfYear.on(1, 2026),
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)))).
+        and(TimeExpression.onFromUntil(
+            new LocalDate(2026, 2, 2),
+            TimeSpan.fromTo(new LocalTime(12, 0), new LocalTime(13, 0))));
+
+    CompiledTimeExpression aCompiledTimeExpression =
+        TimeExpressionCompiler.compile(aTimeExpression);
+
+    for (long anEpochDay = EpochDay.of(new LocalDate(2025, 12, 30));
+        anEpochDay < EpochDay.of(new LocalDate(2026, 4, 1));
+        anEpochDay++) {
+      for (int anHour = 0; anHour < 24; anHour++) {
+        int aMillisOfDay = anHour * 3600000 + 1800000;
+        assertEquals(
+            aTimeExpression.evaluate(anEpochDay, aMillisOfDay),
+            aCompiledTimeExpression.evaluate(anEpochDay, aMillisOfDay));
+      }
+    }
+    assertTrue(aCompiledTimeExpression.evaluate(
+        new LocalDateTime(2026, 1, 2, 1, 0)));
+    assertFalse(aCompiledTimeExpression.evaluate(
+        new LocalDateTime(2026, 1, 3, 1, 0)));
+    assertTrue(aCompiledTimeExpression.evaluate(
+        new LocalDateTime(2026, 2, 2, 12, 30)));
+  }
+
+  @Test
+  public void testCompiledEmptyExpressionShouldNeverMatch() {
+    CompiledTimeExpression aCompiledTimeExpression =
+        TimeExpressionCompiler.compile(
+            TimeExpression.from(new ArrayList<TimeExpression>()));
+
+    assertFalse(aCompiledTimeExpression.evaluate(
+        new LocalDateTime(2026, 1, 1, 9, 0)));
+  }
+
+  @Test
+  public void testCompiledExpressionsShouldKeepTheirOwnEvaluations() {
+    CompiledTimeExpression nineOClock = TimeExpressionCompiler.compile(
+        TimeExpression.onFromUntil(
+            new LocalDate(2026, 1, 1),
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))));
+    CompiledTimeExpression tenOClock = TimeExpressionCompiler.compile(
+        TimeExpression.onFromUntil(
+            new LocalDate(2026, 1, 1),
+            TimeSpan.fromTo(new LocalTime(10, 0), new LocalTime(11, 0))));
+
+    assertTrue(nineOClock.evaluate(new LocalDateTime(2026, 1, 1, 9, 30)));
+    assertFalse(nineOClock.evaluate(new LocalDateTime(2026, 1, 1, 10, 30)));
+    assertFalse(tenOClock.evaluate(new LocalDateTime(2026, 1, 1, 9, 30)));
+    assertTrue(tenOClock.evaluate(new LocalDateTime(2026, 1, 1, 10, 30)));
+  }
+}
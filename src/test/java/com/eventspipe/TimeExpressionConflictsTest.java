@@ -0,0 +1,107 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.joda.time.Months;
+import org.joda.time.Weeks;
+import org.junit.Test;
+
+public class TimeExpressionConflictsTest {
+
+  @Test
+  public void testFirstConflictBetweenDailiesShouldBeTheirFirstCommonDay() {
+    TimeExpression everyThreeDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.THREE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression everyFourDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.FOUR,
+        new LocalDate(2026, 1, 2),
+        TimeSpan.fromTo(new LocalTime(9, 30), new LocalTime(11, 0)));
+
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 1, 10, 9, 0),
+            new LocalDateTime(2026, 1, 10, 10, 0)),
+        everyThreeDays.firstConflictWith(everyFourDays));
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 1, 10, 9, 30),
+            new LocalDateTime(2026, 1, 10, 11, 0)),
+        everyFourDays.firstConflictWith(everyThreeDays));
+  }
+
+  @Test
+  public void testFirstConflictBetweenDailiesOnDisjointDaysShouldBeNull() {
+    TimeExpression everyOtherDay = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression everyOtherNextDay = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 2),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertNull(everyOtherDay.firstConflictWith(everyOtherNextDay));
+  }
+
+  @Test
+  public void testFirstConflictBetweenBackToBackSpansShouldBeNull() {
+    TimeExpression fromNineToTen = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression fromTenToEleven = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(10, 0), new LocalTime(11, 0)));
+
+    assertNull(fromNineToTen.firstConflictWith(fromTenToEleven));
+  }
+
+  @Test
+  public void testFirstConflictShouldFindSpansCrossingMidnight() {
+    TimeExpression overnight = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 1),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(2, 0)));
+    TimeExpression earlyMorning = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2026, 1, 2),
+        TimeSpan.fromTo(new LocalTime(1, 0), new LocalTime(3, 0)));
+
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 1, 1, 22, 0),
+            new LocalDateTime(2026, 1, 2, 2, 0)),
+        overnight.firstConflictWith(earlyMorning));
+  }
+
+  @Test
+  public void testFirstConflictBetweenMonthlyAndWeeklyExpressions() {
+    TimeExpression everyFifteenth = TimeExpression.monthlyEveryOnStartsOnEndsNever(
+        Months.ONE,
+        DayOfMonth.valueOf(15),
+        MonthOfYear.on(1, 2026),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(17, 0)));
+    TimeExpression everyMonday = TimeExpression.weeklyFromToStartsOnEndsNever(
+        new LocalDate(2026, 1, 1),
+        Arrays.asList(DayOfWeekOfWeeklyTimeExpression.onEveryDuring(
+            DayOfWeek.valueOf(1),
+            Weeks.ONE,
+            TimeSpan.fromTo(new LocalTime(12, 0), new LocalTime(13, 0)))));
+
+    assertEquals(
+        DateTimeSpan.fromTo(
+            new LocalDateTime(2026, 6, 15, 9, 0),
+            new LocalDateTime(2026, 6, 15, 17, 0)),
+        everyFifteenth.firstConflictWith(everyMonday));
+  }
+}
@@ -0,0 +1,36 @@
+package com.eventspipe;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalTime;
+
+public class TimeSlotTableTest extends TestCase {
+
+  public void testOverlappingSpansShouldBeMerged() {
+    TimeSlotTable slots = TimeSlotTable.sameDayOf(new TimeSpan[] {
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(9, 30), new LocalTime(11, 0)),
+        TimeSpan.fromTo(new LocalTime(14, 0), new LocalTime(15, 0)) });
+
+    assertEquals(2, slots.size());
+    assertTrue(slots.includes(new LocalTime(10, 30).getMillisOfDay()));
+    assertTrue(slots.includes(new LocalTime(15, 0).getMillisOfDay()));
+    assertFalse(slots.includes(new LocalTime(12, 0).getMillisOfDay()));
+    assertFalse(slots.includes(new LocalTime(8, 59).getMillisOfDay()));
+  }
+
+  public void testSpansCrossingMidnightShouldBeSplit() {
+    TimeSpan[] timeSpans = new TimeSpan[] {
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)),
+        TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0)) };
+
+    TimeSlotTable sameDaySlots = TimeSlotTable.sameDayOf(timeSpans);
+    TimeSlotTable nextDaySlots = TimeSlotTable.nextDayOf(timeSpans);
+
+    assertTrue(sameDaySlots.includes(new LocalTime(23, 59, 59, 999).getMillisOfDay()));
+    assertFalse(sameDaySlots.includes(new LocalTime(0, 30).getMillisOfDay()));
+    assertEquals(1, nextDaySlots.size());
+    assertTrue(nextDaySlots.includes(new LocalTime(0, 30).getMillisOfDay()));
+    assertFalse(nextDaySlots.includes(new LocalTime(9, 30).getMillisOfDay()));
+  }
+}
@@ -0,0 +1,263 @@
+package com.eventspipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.junit.Test;
+
+public class UnionTimeExpressionTest {
+
+  @Test
+  public void testAndShouldFlattenIntoASingleUnion() {
+    TimeExpression nineOClock = everyDayAt(9);
+    TimeExpression tenOClock = everyDayAt(10);
+    TimeExpression elevenOClock = everyDayAt(11);
+
+    TimeExpression union = nineOClock.and(tenOClock).and(elevenOClock);
+
+    assertTrue(union instanceof UnionTimeExpression);
+    assertEquals(3, ((UnionTimeExpression) union).timeExpressions().length);
+    assertEquals(
+        new UnionTimeExpression(nineOClock, tenOClock, elevenOClock),
+        union);
+    assertEquals(union, TimeExpression.fromJsonString(union.asJsonString()));
+  }
+
+  @Test
+  public void testAssertNoConflictsShouldFailWhenMembersAddedThroughAndOverlap() {
+    TimeExpression union = everyDayAt(9).and(everyDayAt(10));
+    union.assertNoConflicts();
+    union.and(everyDayAt(11)).assertNoConflicts();
+
+    assertConflicting(everyDayAt(9).and(overlapping(everyDayAt(9))));
+    assertConflicting(union.and(overlapping(everyDayAt(10))));
+    assertConflicting(union.and(everyDayAt(11).and(overlapping(everyDayAt(9)))));
+    assertConflicting(everyDayAt(9).and(TimeExpression.onFromUntil(
+        new LocalDate(2016, 12, 31),
+        TimeSpan.fromTo(new LocalTime(23, 0), new LocalTime(9, 15)))));
+  }
+
+  @Test
+  public void testAssertNoConflictsShouldFailWhenMembersFromAListOverlap() {
+    TimeExpression union = TimeExpression.from(Arrays.asList(
+        everyDayAt(9), everyDayAt(10), overlapping(everyDayAt(10))));
+
+    assertConflicting(union);
+    assertEquals(union, TimeExpression.fromJsonString(union.asJsonString()));
+    TimeExpression.from(Arrays.asList(
+        everyDayAt(9), everyDayAt(10), everyDayAt(11))).assertNoConflicts();
+  }
+
+  @Test
+  public void testEvaluateShouldNotRecurseWithManyExpressions() {
+    List<TimeExpression> timeExpressions = new ArrayList<>();
+    for (int aDay = 0; aDay < 10000; aDay++) {
+      timeExpressions.add(TimeExpression.onFromUntil(
+          new LocalDate(2017, 1, 1).plusDays(aDay),
+          TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))));
+    }
+
+    TimeExpression union = TimeExpression.from(timeExpressions);
+
+    assertTrue(union.evaluate(
+        new LocalDate(2017, 1, 1).plusDays(9999).toLocalDateTime(new LocalTime(9, 30))));
+    assertFalse(union.evaluate(
+        new LocalDate(2017, 1, 1).plusDays(10000).toLocalDateTime(new LocalTime(9, 30))));
+    assertTrue(union.matches(timeExpressions.get(5000)));
+    assertFalse(union.matches(everyDayAt(9)));
+  }
+
+  @Test
+  public void testNextOccurrenceAfterAndPreviousOccurrenceBeforeShouldPickAmongMembers() {
+    TimeExpression union = everyDayAt(9).and(everyDayAt(11)).and(everyDayAt(10));
+
+    assertEquals(
+        new LocalDateTime(2026, 10, 18, 10, 0), 
+        union.nextOccurrenceAfter(
+            new LocalDateTime(2026, 10, 18, 9, 0)).startingDateTime());
+    assertEquals(
+        new LocalDateTime(2026, 10, 19, 9, 0), 
+        union.nextOccurrenceAfter(
+            new LocalDateTime(2026, 10, 18, 11, 0)).startingDateTime());
+    assertEquals(
+        new LocalDateTime(2026, 10, 17, 11, 0), 
+        union.previousOccurrenceBefore(
+            new LocalDateTime(2026, 10, 18, 9, 0)).startingDateTime());
+  }
+
+  @Test
+  public void testParallelOccurrencesShouldKeepTheStartingOrder() {
+    TimeExpression union = everyDayAt(9).and(
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE,
+            new LocalDate(2017, 1, 2),
+            TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0))));
+    LocalDateTime from = new LocalDateTime(2020, 1, 1, 9, 0);
+    LocalDateTime to = new LocalDateTime(2026, 1, 1, 9, 0);
+
+    List<DateTimeSpan> occurrences =
+        union.occurrences(from, to).parallel().collect(Collectors.toList());
+
+    assertEquals(union.countBetween(from, to), occurrences.size());
+    assertEquals(
+        -1, union.occurrences(from, to).spliterator().getExactSizeIfKnown());
+    Iterator<DateTimeSpan> iterator = union.iteratorFromTo(
+        from.toLocalDate(), to.toLocalDate());
+    for (DateTimeSpan anOccurrence : occurrences) {
+      assertEquals(iterator.next(), anOccurrence);
+    }
+  }
+
+  @Test
+  public void testFillShouldResumeAmongOccurrencesStartingTogether() {
+    TimeExpression union = everyDayAt(9).and(
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.ONE,
+            new LocalDate(2017, 1, 1),
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))));
+    OccurrenceCursor cursor = union.cursorBetween(
+        new LocalDateTime(2026, 10, 18, 0, 0),
+        new LocalDateTime(2026, 10, 19, 0, 0));
+    long[] starts = new long[1];
+    long[] ends = new long[1];
+
+    assertEquals(1, union.fillOccurrences(
+        new LocalDateTime(2026, 10, 18, 0, 0),
+        new LocalDateTime(2026, 10, 19, 0, 0),
+        starts,
+        ends,
+        0));
+    assertEquals(1, cursor.fill(starts, ends, 0));
+    long aStart = starts[0];
+    long anEnd = ends[0];
+    assertEquals(1, cursor.fill(starts, ends, 0));
+    assertEquals(aStart, starts[0]);
+    assertFalse(anEnd == ends[0]);
+    assertEquals(0, cursor.fill(starts, ends, 0));
+  }
+
+  @Test
+  public void testEvaluateShouldCombineOccurringDaysAcrossEvictedYears() {
+    TimeExpression union = TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE, 
+            new LocalDate(2000, 1, 1), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))).
+          and(TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.SEVEN, 
+            new LocalDate(2000, 1, 2), 
+            TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))));
+
+    for (int aRound = 0; aRound < 2; aRound++) {
+      for (int aYear = 2000; aYear < 2000 + 2 * OccurringDaysCache.MAXIMUM_NUMBER_OF_YEARS; aYear++) {
+        LocalDate aDate = new LocalDate(aYear, 3, 1);
+        int aDaysSinceStart = Days.daysBetween(new LocalDate(2000, 1, 1), aDate).getDays();
+        assertEquals(
+            aDaysSinceStart % 3 == 0 || aDaysSinceStart % 7 == 1, 
+            union.evaluate(aDate));
+      }
+    }
+    assertFalse(union.evaluate(new LocalDate(1999, 12, 31)));
+    assertTrue(union.evaluate(new LocalDate(2000, 1, 2)));
+  }
+
+  @Test
+  public void testEvaluateShouldFollowAMemberEndingOn() {
+    TimeExpression everyTwoDays = TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        new LocalDate(2024, 1, 1),
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0)));
+    TimeExpression union = everyTwoDays.and(
+        TimeExpression.dailyEveryStartsOnEndsNever(
+            Days.THREE,
+            new LocalDate(2024, 1, 1),
+            TimeSpan.fromTo(new LocalTime(11, 0), new LocalTime(12, 0))));
+    assertTrue(union.evaluate(new LocalDate(2024, 6, 1)));
+
+    everyTwoDays.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertFalse(everyTwoDays.evaluate(new LocalDate(2024, 6, 1)));
+    assertFalse(union.evaluate(new LocalDate(2024, 6, 1)));
+    assertTrue(union.evaluate(new LocalDate(2024, 6, 2)));
+  }
+
+  @Test
+  public void testEvaluateShouldFollowANestedMemberEndingOn() {
+    TimeExpression everyTwoDays = everyNDaysAt(Days.TWO, 9);
+    TimeExpression union = everyNDaysAt(Days.SEVEN, 11).and(
+        new BinaryTimeExpression(everyTwoDays, everyNDaysAt(Days.THREE, 12)));
+    TimeExpression unrelated = everyNDaysAt(Days.TWO, 13);
+    assertTrue(union.evaluate(new LocalDate(2024, 6, 1)));
+    long aVersion = union.version();
+
+    unrelated.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertEquals(aVersion, union.version());
+    assertTrue(union.evaluate(new LocalDate(2024, 6, 1)));
+
+    everyTwoDays.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertFalse(aVersion == union.version());
+    assertFalse(union.evaluate(new LocalDate(2024, 6, 1)));
+  }
+
+  @Test
+  public void testMatchesShouldFindAMemberAfterItEnds() {
+    TimeExpression nineOClock = everyDayAt(9);
+    TimeExpression union = nineOClock.and(everyDayAt(10));
+    assertTrue(union.matches(nineOClock));
+
+    nineOClock.endingOn(new LocalDateTime(2024, 3, 1, 0, 0));
+
+    assertTrue(union.subexpressions().contains(nineOClock));
+    assertTrue(union.matches(nineOClock));
+    assertFalse(union.matches(everyDayAt(9)));
+  }
+
+  private void assertConflicting(TimeExpression aTimeExpression) {
+    try {
+      aTimeExpression.assertNoConflicts();
+      fail();
+    } catch (TimeExpressionException exception) {
+      assertEquals(BinaryTimeExpression.DATE_TIME_CONFLICT, exception.getMessage());
+    }
+  }
+
+  /*
+   * Every other day from the same start, a quarter of an hour later.
+   */
+  private TimeExpression overlapping(TimeExpression aDailyTimeExpression) {
+    TimeSpan aTimeSpan = aDailyTimeExpression.timeSpans()[0];
+    return TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.TWO,
+        aDailyTimeExpression.startingDate(),
+        TimeSpan.fromTo(
+            aTimeSpan.startingTime().plusMinutes(15),
+            aTimeSpan.endingTime().plusMinutes(15)));
+  }
+
+  private TimeExpression everyNDaysAt(Days aNumberOfDays, int anHour) {
+    return TimeExpression.dailyEveryStartsOnEndsNever(
+        aNumberOfDays,
+        new LocalDate(2024, 1, 1),
+        TimeSpan.fromTo(new LocalTime(anHour, 0), new LocalTime(anHour + 1, 0)));
+  }
+
+  private TimeExpression everyDayAt(int anHour) {
+    return TimeExpression.dailyEveryStartsOnEndsNever(
+        Days.ONE,
+        new LocalDate(2017, 1, 1),
+        TimeSpan.fromTo(new LocalTime(anHour, 0), new LocalTime(anHour, 30)));
+  }
+}
@@ -4,11 +4,15 @@ package com.eventspipe;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
 import org.joda.time.LocalTime;
 import org.joda.time.Weeks;
 import org.junit.Assert;
@@ -215,4 +219,155 @@ public class WeeklyTimeExpressionTest {
     Assert.assertTrue(
         TimeExpression.from(weeklyTimeExpressionAsString).equals(weeklyTimeExpression));
   }
+
+  @Test
+  public void testCountBetween() {
+    LocalDate october15 = new LocalDate(2015, 10, 15);
+    LocalDate november2 = new LocalDate(2015, 11, 2);
+    List<DayOfWeekOfWeeklyTimeExpression> theDaysOfweek = 
+        new ArrayList<DayOfWeekOfWeeklyTimeExpression>();
+    TimeSpan from9To10 = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.TUESDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.FRIDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.SATURDAY, Weeks.ONE, from9To10));
+
+    WeeklyTimeExpression weeklyTimeExpression = 
+        new WeeklyTimeExpression(
+            october15, 
+            november2, 
+            theDaysOfweek);
+
+    assertEquals(8, weeklyTimeExpression.numberOfOccurrences());
+    assertEquals(8, weeklyTimeExpression.countBetween(
+        october15.toLocalDateTime(LocalTime.MIDNIGHT), 
+        november2.toLocalDateTime(LocalTime.MIDNIGHT)));
+    assertEquals(5, weeklyTimeExpression.countBetween(
+        new LocalDate(2015, 10, 16).toLocalDateTime(LocalTime.MIDNIGHT), 
+        new LocalDate(2015, 10, 24).toLocalDateTime(new LocalTime(23, 59))));
+    assertEquals(2, weeklyTimeExpression.countBetween(
+        new LocalDate(2015, 10, 20).toLocalDateTime(new LocalTime(9, 0)), 
+        new LocalDate(2015, 10, 23).toLocalDateTime(new LocalTime(9, 0))));
+    assertEquals(0, weeklyTimeExpression.countBetween(
+        new LocalDate(2015, 11, 1).toLocalDateTime(LocalTime.MIDNIGHT), 
+        new LocalDate(2016, 11, 1).toLocalDateTime(LocalTime.MIDNIGHT)));
+  }
+
+  @Test
+  public void testCursor() {
+    LocalDate october15 = new LocalDate(2015, 10, 15);
+    LocalDate november2 = new LocalDate(2015, 11, 2);
+    List<DayOfWeekOfWeeklyTimeExpression> theDaysOfweek = 
+        new ArrayList<DayOfWeekOfWeeklyTimeExpression>();
+    TimeSpan from9To10 = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    TimeSpan from22To1 = TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.TUESDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.FRIDAY, Weeks.ONE, from9To10, from22To1));
+
+    WeeklyTimeExpression weeklyTimeExpression = 
+        new WeeklyTimeExpression(
+            october15, 
+            november2, 
+            theDaysOfweek);
+
+    OccurrenceCursor cursor = weeklyTimeExpression.cursorFromTo(
+        new LocalDate(2015, 10, 20), new LocalDate(2015, 10, 23));
+
+    Assert.assertTrue(cursor.advance());
+    assertEquals(new LocalDateTime(2015, 10, 20, 9, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        cursor.startEpochMillis());
+    assertEquals(new LocalDateTime(2015, 10, 20, 10, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        cursor.endEpochMillis());
+    Assert.assertTrue(cursor.advance());
+    assertEquals(new LocalDateTime(2015, 10, 23, 9, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        cursor.startEpochMillis());
+    Assert.assertTrue(cursor.advance());
+    assertEquals(new LocalDateTime(2015, 10, 23, 22, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        cursor.startEpochMillis());
+    assertEquals(new LocalDateTime(2015, 10, 24, 1, 0).toDateTime(DateTimeZone.UTC).getMillis(), 
+        cursor.endEpochMillis());
+    Assert.assertFalse(cursor.advance());
+  }
+
+  @Test
+  public void testOccurrences() {
+    List<DayOfWeekOfWeeklyTimeExpression> theDaysOfweek = 
+        new ArrayList<DayOfWeekOfWeeklyTimeExpression>();
+    TimeSpan from9To10 = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    TimeSpan from22To1 = TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.TUESDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.FRIDAY, Weeks.ONE, from9To10, from22To1));
+
+    WeeklyTimeExpression weeklyTimeExpression = 
+        new WeeklyTimeExpression(
+            new LocalDate(2015, 10, 15), 
+            new LocalDate(2015, 11, 2), 
+            theDaysOfweek);
+
+    List<DateTimeSpan> occurrences = weeklyTimeExpression.occurrences(
+        new LocalDateTime(2015, 10, 20, 9, 0), 
+        new LocalDateTime(2015, 10, 23, 22, 0)).parallel().
+          collect(Collectors.toList());
+
+    assertEquals(3, occurrences.size());
+    assertEquals(new LocalDateTime(2015, 10, 20, 9, 0), occurrences.get(0).startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 23, 9, 0), occurrences.get(1).startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 23, 22, 0), occurrences.get(2).startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 24, 1, 0), occurrences.get(2).endingDateTime());
+  }
+
+  @Test
+  public void testDescendingIteratorFromTo() {
+    List<DayOfWeekOfWeeklyTimeExpression> theDaysOfweek = 
+        new ArrayList<DayOfWeekOfWeeklyTimeExpression>();
+    TimeSpan from9To10 = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    TimeSpan from22To1 = TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.TUESDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.FRIDAY, Weeks.ONE, from9To10, from22To1));
+
+    WeeklyTimeExpression weeklyTimeExpression = 
+        new WeeklyTimeExpression(
+            new LocalDate(2015, 10, 15), 
+            new LocalDate(2015, 11, 2), 
+            theDaysOfweek);
+
+    Iterator<DateTimeSpan> iterator = weeklyTimeExpression.descendingIteratorFromTo(
+        new LocalDate(2015, 10, 20), new LocalDate(2015, 10, 27));
+
+    assertEquals(new LocalDateTime(2015, 10, 27, 9, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 23, 22, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 23, 9, 0), iterator.next().startingDateTime());
+    assertEquals(new LocalDateTime(2015, 10, 20, 9, 0), iterator.next().startingDateTime());
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testEvaluateAll() {
+    List<DayOfWeekOfWeeklyTimeExpression> theDaysOfweek = 
+        new ArrayList<DayOfWeekOfWeeklyTimeExpression>();
+    TimeSpan from9To10 = TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0));
+    TimeSpan from22To1 = TimeSpan.fromTo(new LocalTime(22, 0), new LocalTime(1, 0));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.TUESDAY, Weeks.ONE, from9To10));
+    theDaysOfweek.add(new DayOfWeekOfWeeklyTimeExpression(DayOfWeek.FRIDAY, Weeks.ONE, from9To10, from22To1));
+
+    WeeklyTimeExpression weeklyTimeExpression = 
+        new WeeklyTimeExpression(
+            new LocalDate(2015, 10, 15), 
+            new LocalDate(2015, 11, 2), 
+            theDaysOfweek);
+
+    long[] epochMillis = new long[] {
+        new LocalDateTime(2015, 10, 20, 9, 30).toDateTime(DateTimeZone.UTC).getMillis(),
+        new LocalDateTime(2015, 10, 20, 10, 30).toDateTime(DateTimeZone.UTC).getMillis(),
+        new LocalDateTime(2015, 10, 21, 9, 30).toDateTime(DateTimeZone.UTC).getMillis(),
+        new LocalDateTime(2015, 10, 23, 23, 0).toDateTime(DateTimeZone.UTC).getMillis(),
+        new LocalDateTime(2015, 10, 24, 0, 30).toDateTime(DateTimeZone.UTC).getMillis(),
+        new LocalDateTime(2015, 10, 25, 0, 30).toDateTime(DateTimeZone.UTC).getMillis() };
+
+    BitSet matches = weeklyTimeExpression.evaluateAll(epochMillis);
+
+    assertEquals(3, matches.cardinality());
+    Assert.assertTrue(matches.get(0));
+    Assert.assertTrue(matches.get(3));
+    Assert.assertTrue(matches.get(4));
+  }
 }
@@ -23,6 +23,7 @@ import com.eventspipe.TimeExpressionException;
 import com.eventspipe.TimeSpan;
 import com.eventspipe.YearlyTimeExpression;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
 public class YearlyTimeExpressionTest {
   
@@ -247,6 +248,25 @@ public class YearlyTimeExpressionTest {
         YearlyTimeExpression.from(march27EveryOneYearFromThisYearToFiveMoreYearsAsString));
   }
 
+  @Test
+  public void testFromShouldFailWhenDurationIsNotRecognized() {
+    JsonObject everyNewYearAsJson = TimeExpression.yearlyEveryOnStartsOnEndsNever(
+        Years.ONE,
+        new MonthDay(1, 1),
+        2026,
+        TimeSpan.fromTo(new LocalTime(9, 0), new LocalTime(10, 0))).
+        asJson().getAsJsonObject();
+    everyNewYearAsJson.addProperty("durationCriteria", "#Unknown");
+
+    try {
+      TimeExpression.from(everyNewYearAsJson);
+      fail();
+    } catch (RuntimeException exception) {
+      assertTrue(exception.getMessage().startsWith(
+          "Time expression not recognized"));
+    }
+  }
+
   @Test
   public void testEveryEightOfAugust() {
     Integer eightDay = Integer.valueOf(8);
@@ -303,4 +323,23 @@ public class YearlyTimeExpressionTest {
     assertFalse(everyEightOfAugustTimeExpression.evaluate(firstEightOfAugust
         .plusYears(4)));
   }
+
+  @Test
+  public void testOccurrenceAtShouldFailWhenOrdinalIsOutOfDuration() {
+    YearlyTimeExpression everyEightOfAugust = PeriodicTimeExpression
+        .yearlyEveryOnStartsOnEndsOn(Years.ONE, new MonthDay(8, 8), 
+            2012, 2015, TimeSpan.fromTo(
+                new LocalTime(9, 0), new LocalTime(10, 0)));
+
+    assertEquals(new LocalDate(2015, 8, 8), 
+        everyEightOfAugust.occurrenceAt(3).startingDateTime().toLocalDate());
+    try {
+      everyEightOfAugust.occurrenceAt(4);
+      fail();
+    } catch (TimeExpressionException exception) {
+      assertEquals(
+          TimeExpressionException.ORDINAL_INVALID.getMessage(), 
+          exception.getMessage());
+    }
+  }
 }